@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example;
+
+import static org.springframework.restdocs.RestDocumentation.document;
+import static org.springframework.restdocs.RestDocumentation.documentEach;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.restdocs.OutputDirectoryNamer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+public class Batch {
+
+	private MockMvc mockMvc;
+
+	public void documentEachLocale() throws Exception {
+		// tag::batch[]
+		final List<String> languages = Arrays.asList("en", "fr", "de");
+		List<RequestBuilder> requests = new ArrayList<RequestBuilder>();
+		for (String language : languages) {
+			requests.add(get("/greeting").accept(MediaType.APPLICATION_JSON)
+					.header("Accept-Language", language)); // <1>
+		}
+		documentEach(this.mockMvc, requests,
+				document("greeting").withResponseFields( // <2>
+						fieldWithPath("message").description("The greeting")),
+				new OutputDirectoryNamer() {
+
+					@Override
+					public String name(String outputDir, int index,
+							RequestBuilder request) {
+						return outputDir + "-" + languages.get(index); // <3>
+					}
+
+				});
+		// end::batch[]
+	}
+
+}
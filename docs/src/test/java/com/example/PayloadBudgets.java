@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example;
+
+import static org.springframework.restdocs.RestDocumentation.documentationConfiguration;
+import static org.springframework.restdocs.payload.PayloadDocumentation.documentResponseFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.payloadBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+public class PayloadBudgets {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mockMvc;
+
+	public void configuredBudget() {
+		// tag::configured-budget[]
+		this.mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
+				.apply(documentationConfiguration().payloads()
+						.withResponseBudget(payloadBudget().maxSize(16384).maxDepth(5)))
+				.build();
+		// end::configured-budget[]
+	}
+
+	public void handlerBudget() throws Exception {
+		// tag::handler-budget[]
+		this.mockMvc.perform(get("/user/5").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andDo(documentResponseFields("index",
+						fieldWithPath("contact").description("The user's contact details"))
+						.withBudget(payloadBudget().maxArrayLength(100))); // <1>
+		// end::handler-budget[]
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example;
+
+import static org.springframework.restdocs.RestDocumentation.modifyRequestTo;
+import static org.springframework.restdocs.request.RequestPostProcessors.removeHeaders;
+import static org.springframework.restdocs.response.ResponsePostProcessors.prettyPrintContent;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.springframework.test.web.servlet.MockMvc;
+
+public class RequestPostProcessing {
+
+	private MockMvc mockMvc;
+
+	public void general() throws Exception {
+		// tag::general[]
+		this.mockMvc.perform(get("/").header("Authorization", "Basic dXNlcjpzZWNyZXQ="))
+			.andExpect(status().isOk())
+			.andDo(modifyRequestTo(removeHeaders("Authorization")) // <1>
+					.andModifyResponseTo(prettyPrintContent()) // <2>
+					.andDocument("index")); // <3>
+		// end::general[]
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.restdocs;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+
+import org.springframework.mock.web.DelegatingServletOutputStream;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Releases the content of a documented {@link MvcResult} so that the memory it occupies
+ * can be reclaimed.
+ * <p>
+ * {@link MockHttpServletResponse} provides no way to discard its content buffer so the
+ * buffer, and the output stream and writer that wrap it, are replaced using reflection.
+ * If the response's fields cannot be found, its content is not released.
+ *
+ * @author Andy Wilkinson
+ */
+final class ContentReleaser {
+
+	private ContentReleaser() {
+
+	}
+
+	static void release(MvcResult result) {
+		result.getRequest().setContent(null);
+		ResponseFields.release(result.getResponse());
+	}
+
+	/**
+	 * The fields of {@link MockHttpServletResponse} that refer to its content, only looked
+	 * up once content is first released.
+	 */
+	private static final class ResponseFields {
+
+		private static final Field CONTENT = findField("content");
+
+		private static final Field OUTPUT_STREAM = findField("outputStream");
+
+		private static final Field WRITER = findField("writer");
+
+		private static void release(MockHttpServletResponse response) {
+			if (CONTENT == null || OUTPUT_STREAM == null || WRITER == null) {
+				return;
+			}
+			ByteArrayOutputStream content = new ByteArrayOutputStream(0);
+			ReflectionUtils.setField(CONTENT, response, content);
+			ReflectionUtils.setField(OUTPUT_STREAM, response,
+					new DelegatingServletOutputStream(content));
+			// The writer is recreated around the new content when it is next needed
+			ReflectionUtils.setField(WRITER, response, null);
+		}
+
+		private static Field findField(String name) {
+			Field field = ReflectionUtils.findField(MockHttpServletResponse.class, name);
+			if (field != null) {
+				ReflectionUtils.makeAccessible(field);
+			}
+			return field;
+		}
+
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs;
+
+import org.springframework.restdocs.config.SnippetConfigurer;
+import org.springframework.restdocs.curl.CurlDocumentation;
+import org.springframework.restdocs.http.HttpDocumentation;
+import org.springframework.test.web.servlet.ResultHandler;
+
+/**
+ * The snippets that are produced by default whenever an API call is documented.
+ * 
+ * @author Andy Wilkinson
+ * @see SnippetConfigurer#withDefaults(DefaultSnippet...)
+ * @see RestDocumentationResultHandler#withDefaultSnippets(DefaultSnippet...)
+ */
+public enum DefaultSnippet {
+
+	/**
+	 * A snippet containing the curl command for the request
+	 */
+	CURL_REQUEST {
+
+		@Override
+		ResultHandler createHandler(String outputDir) {
+			return CurlDocumentation.documentCurlRequest(outputDir);
+		}
+
+	},
+
+	/**
+	 * A snippet containing the HTTP request
+	 */
+	HTTP_REQUEST {
+
+		@Override
+		ResultHandler createHandler(String outputDir) {
+			return HttpDocumentation.documentHttpRequest(outputDir);
+		}
+
+	},
+
+	/**
+	 * A snippet containing the HTTP response
+	 */
+	HTTP_RESPONSE {
+
+		@Override
+		ResultHandler createHandler(String outputDir) {
+			return HttpDocumentation.documentHttpResponse(outputDir);
+		}
+
+	};
+
+	abstract ResultHandler createHandler(String outputDir);
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Decorates an {@link MvcResult} so that it returns a different request and response.
+ * 
+ * @author Andy Wilkinson
+ */
+final class MvcResultDecorator {
+
+	private MvcResultDecorator() {
+
+	}
+
+	static MvcResult decorate(MvcResult result, MockHttpServletRequest request,
+			MockHttpServletResponse response) {
+		Enhancer enhancer = new Enhancer();
+		enhancer.setSuperclass(MvcResult.class);
+		enhancer.setCallback(new GetRequestAndResponseMethodInterceptor(request,
+				response, result));
+		return (MvcResult) enhancer.create();
+	}
+
+	private static final class GetRequestAndResponseMethodInterceptor implements
+			MethodInterceptor {
+
+		private final MvcResult delegate;
+
+		private final MockHttpServletRequest request;
+
+		private final MockHttpServletResponse response;
+
+		private final Method getRequestMethod = findMethod("getRequest");
+
+		private final Method getResponseMethod = findMethod("getResponse");
+
+		private GetRequestAndResponseMethodInterceptor(MockHttpServletRequest request,
+				MockHttpServletResponse response, MvcResult delegate) {
+			this.delegate = delegate;
+			this.request = request;
+			this.response = response;
+		}
+
+		@Override
+		public Object intercept(Object proxy, Method method, Object[] args,
+				MethodProxy methodProxy) throws IllegalAccessException,
+				InvocationTargetException {
+			if (this.getRequestMethod.equals(method)) {
+				return this.request;
+			}
+			if (this.getResponseMethod.equals(method)) {
+				return this.response;
+			}
+			return method.invoke(this.delegate, args);
+		}
+
+		private static Method findMethod(String methodName) {
+			return BridgeMethodResolver.findBridgedMethod(ReflectionUtils.findMethod(
+					MvcResult.class, methodName));
+		}
+
+	}
+
+}
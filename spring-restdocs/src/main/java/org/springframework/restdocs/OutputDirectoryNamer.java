@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs;
+
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Names the output directory of each of the requests in a batch that is documented
+ * using {@link RestDocumentation#documentEach}.
+ *
+ * @author Andy Wilkinson
+ */
+public interface OutputDirectoryNamer {
+
+	/**
+	 * Returns the name of the output directory for the request at the given
+	 * {@code index} in the batch.
+	 *
+	 * @param outputDir the output directory of the handler that is documenting the batch
+	 * @param index the index of the request in the batch
+	 * @param request the request
+	 * @return the output directory for the request
+	 */
+	String name(String outputDir, int index, RequestBuilder request);
+
+}
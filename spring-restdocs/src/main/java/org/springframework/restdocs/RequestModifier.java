@@ -0,0 +1,63 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.restdocs.request.RequestPostProcessor;
+import org.springframework.restdocs.response.ResponsePostProcessor;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Modifies the request in an {@link MvcResult} by applying {@link RequestPostProcessor
+ * RequestPostProcessors} to it. The post-processors are applied once, to a copy of the
+ * request, and the modified request is then used by every snippet that documents it.
+ * 
+ * @see RestDocumentation#modifyRequestTo(RequestPostProcessor...)
+ * @author Andy Wilkinson
+ */
+public final class RequestModifier {
+
+	private final List<RequestPostProcessor> postProcessors;
+
+	RequestModifier(RequestPostProcessor... postProcessors) {
+		this.postProcessors = Arrays.asList(postProcessors);
+	}
+
+	/**
+	 * Provides a {@link ResponseModifier} that can be used to modify the response in
+	 * addition to the request
+	 * @param responsePostProcessors the post-processors to use to modify the response
+	 * @return the response modifier
+	 */
+	public ResponseModifier andModifyResponseTo(
+			ResponsePostProcessor... responsePostProcessors) {
+		return new ResponseModifier(this.postProcessors, responsePostProcessors);
+	}
+
+	/**
+	 * Provides a {@link RestDocumentationResultHandler} that can be used to document the
+	 * modified request and the result.
+	 * @param outputDir The directory to which the documentation will be written
+	 * @return the result handler that will produce the documentation
+	 */
+	public RestDocumentationResultHandler andDocument(String outputDir) {
+		return andModifyResponseTo().andDocument(outputDir);
+	}
+
+}
@@ -16,32 +16,39 @@
 
 package org.springframework.restdocs;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
-import org.springframework.cglib.proxy.Enhancer;
-import org.springframework.cglib.proxy.MethodInterceptor;
-import org.springframework.cglib.proxy.MethodProxy;
-import org.springframework.core.BridgeMethodResolver;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.restdocs.request.RequestPostProcessor;
 import org.springframework.restdocs.response.ResponsePostProcessor;
+import org.springframework.restdocs.util.RequestCopier;
 import org.springframework.test.web.servlet.MvcResult;
-import org.springframework.util.ReflectionUtils;
 
 /**
  * Modifies the response in an {@link MvcResult} by applying {@link ResponsePostProcessor
- * ResponsePostProcessors} to it.
+ * ResponsePostProcessors} to it. The request may also be modified by applying
+ * {@link RequestPostProcessor RequestPostProcessors} to it.
  * 
  * @see RestDocumentation#modifyResponseTo(ResponsePostProcessor...)
+ * @see RequestModifier#andModifyResponseTo(ResponsePostProcessor...)
  * @author Andy Wilkinson
  */
 public final class ResponseModifier {
 
+	private final List<RequestPostProcessor> requestPostProcessors;
+
 	private final List<ResponsePostProcessor> postProcessors;
 
 	ResponseModifier(ResponsePostProcessor... postProcessors) {
+		this(Collections.<RequestPostProcessor> emptyList(), postProcessors);
+	}
+
+	ResponseModifier(List<RequestPostProcessor> requestPostProcessors,
+			ResponsePostProcessor... postProcessors) {
+		this.requestPostProcessors = requestPostProcessors;
 		this.postProcessors = Arrays.asList(postProcessors);
 	}
 
@@ -63,55 +70,23 @@ public final class ResponseModifier {
 		}
 
 		@Override
-		public void handle(MvcResult result) throws Exception {
-			super.handle(postProcessResponse(result));
+		void document(MvcResult result, String outputDir) throws Exception {
+			super.document(postProcess(result), outputDir);
 		}
 
-		MvcResult postProcessResponse(MvcResult result) throws Exception {
+		MvcResult postProcess(MvcResult result) throws Exception {
+			MockHttpServletRequest request = result.getRequest();
+			if (!ResponseModifier.this.requestPostProcessors.isEmpty()) {
+				request = RequestCopier.copy(request);
+				for (RequestPostProcessor postProcessor : ResponseModifier.this.requestPostProcessors) {
+					request = postProcessor.postProcess(request);
+				}
+			}
 			MockHttpServletResponse response = result.getResponse();
 			for (ResponsePostProcessor postProcessor : ResponseModifier.this.postProcessors) {
 				response = postProcessor.postProcess(response);
 			}
-			return decorateResult(result, response);
-		}
-
-		private MvcResult decorateResult(MvcResult result,
-				MockHttpServletResponse response) {
-			Enhancer enhancer = new Enhancer();
-			enhancer.setSuperclass(MvcResult.class);
-			enhancer.setCallback(new GetResponseMethodInterceptor(response, result));
-			return (MvcResult) enhancer.create();
-		}
-
-		private class GetResponseMethodInterceptor implements MethodInterceptor {
-
-			private final MvcResult delegate;
-
-			private final MockHttpServletResponse response;
-
-			private final Method getResponseMethod = findMethod("getResponse");
-
-			private GetResponseMethodInterceptor(MockHttpServletResponse response,
-					MvcResult delegate) {
-				this.delegate = delegate;
-				this.response = response;
-			}
-
-			@Override
-			public Object intercept(Object proxy, Method method, Object[] args,
-					MethodProxy methodProxy) throws IllegalAccessException,
-					InvocationTargetException {
-				if (this.getResponseMethod.equals(method)) {
-					return this.response;
-				}
-				return method.invoke(this.delegate, args);
-			}
-
-			private Method findMethod(String methodName) {
-				return BridgeMethodResolver.findBridgedMethod(ReflectionUtils.findMethod(
-						MvcResult.class, methodName));
-			}
-
+			return MvcResultDecorator.decorate(result, request, response);
 		}
 
 	}
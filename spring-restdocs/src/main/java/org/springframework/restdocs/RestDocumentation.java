@@ -16,11 +16,19 @@
 
 package org.springframework.restdocs;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.restdocs.config.RestDocumentationConfigurer;
+import org.springframework.restdocs.request.RequestPostProcessor;
+import org.springframework.restdocs.request.RequestPostProcessors;
 import org.springframework.restdocs.response.ResponsePostProcessor;
 import org.springframework.restdocs.response.ResponsePostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.ConfigurableMockMvcBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcConfigurer;
@@ -58,6 +66,48 @@ public abstract class RestDocumentation {
 		return new RestDocumentationResultHandler(outputDir);
 	}
 
+	/**
+	 * Performs each of the given {@code requests} using the given {@code mockMvc} and
+	 * documents it using the given {@code documentation}. The output directory for each
+	 * request is named by the given {@code namer}. The handler, and the compiled
+	 * descriptors and post-processors with which it has been configured, are shared by
+	 * every request in the batch, allowing a resource to be documented across many
+	 * variants without rebuilding its documentation for each of them.
+	 * <p>
+	 * A request whose processing is asynchronous is dispatched once its result is
+	 * available and the dispatched result is then documented. Each request is documented
+	 * as soon as its response is available. Expectations can be made of the returned
+	 * actions but, as documentation has already happened by then, they cannot use any
+	 * content that has been released once it was documented.
+	 *
+	 * @param mockMvc the {@code MockMvc} used to perform the requests
+	 * @param requests the requests to perform and document
+	 * @param documentation the handler that documents each request
+	 * @param namer names the output directory of each request
+	 * @return the actions of each request, in the same order as the requests
+	 * @throws Exception if a request cannot be performed or documented
+	 */
+	public static List<ResultActions> documentEach(MockMvc mockMvc,
+			List<? extends RequestBuilder> requests,
+			RestDocumentationResultHandler documentation, OutputDirectoryNamer namer)
+			throws Exception {
+		List<ResultActions> actions = new ArrayList<ResultActions>(requests.size());
+		for (int i = 0; i < requests.size(); i++) {
+			RequestBuilder request = requests.get(i);
+			ResultActions action = mockMvc.perform(request);
+			MvcResult result = action.andReturn();
+			if (result.getRequest().isAsyncStarted()) {
+				// Wait for the async result and then dispatch it to produce the response
+				result.getAsyncResult();
+				action = mockMvc.perform(asyncDispatch(result));
+			}
+			documentation.handle(action.andReturn(),
+					namer.name(documentation.getOutputDir(), i, request));
+			actions.add(action);
+		}
+		return actions;
+	}
+
 	/**
 	 * Enables the modification of the response in a {@link MvcResult} prior to it being
 	 * documented. The modification is performed using the given
@@ -72,4 +122,18 @@ public abstract class RestDocumentation {
 		return new ResponseModifier(responsePostProcessors);
 	}
 
+	/**
+	 * Enables the modification of the request in a {@link MvcResult} prior to it being
+	 * documented. The modification is performed using the given
+	 * {@code requestPostProcessors}.
+	 * 
+	 * @param requestPostProcessors the post-processors to use to modify the request
+	 * @return the request modifier
+	 * @see RequestPostProcessors
+	 */
+	public static RequestModifier modifyRequestTo(
+			RequestPostProcessor... requestPostProcessors) {
+		return new RequestModifier(requestPostProcessors);
+	}
+
 }
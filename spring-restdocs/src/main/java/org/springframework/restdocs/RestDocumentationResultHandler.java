@@ -16,25 +16,32 @@
 
 package org.springframework.restdocs;
 
-import static org.springframework.restdocs.curl.CurlDocumentation.documentCurlRequest;
-import static org.springframework.restdocs.http.HttpDocumentation.documentHttpRequest;
-import static org.springframework.restdocs.http.HttpDocumentation.documentHttpResponse;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.documentLinks;
 import static org.springframework.restdocs.payload.PayloadDocumentation.documentRequestFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.documentResponseFields;
 import static org.springframework.restdocs.request.RequestDocumentation.documentQueryParameters;
+import static org.springframework.restdocs.statistics.StatisticsDocumentation.documentStatistics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.restdocs.config.RestDocumentationContext;
+import org.springframework.restdocs.config.SnippetConfigurer;
 import org.springframework.restdocs.hypermedia.HypermediaDocumentation;
 import org.springframework.restdocs.hypermedia.LinkDescriptor;
 import org.springframework.restdocs.hypermedia.LinkExtractor;
 import org.springframework.restdocs.hypermedia.LinkExtractors;
 import org.springframework.restdocs.payload.FieldDescriptor;
+import org.springframework.restdocs.payload.FieldDescriptors;
 import org.springframework.restdocs.payload.PayloadDocumentation;
 import org.springframework.restdocs.request.ParameterDescriptor;
 import org.springframework.restdocs.request.RequestDocumentation;
+import org.springframework.restdocs.statistics.StatisticsDocumentation;
+import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultHandler;
 
@@ -47,17 +54,35 @@ import org.springframework.test.web.servlet.ResultHandler;
  */
 public class RestDocumentationResultHandler implements ResultHandler {
 
+	private static final Set<DefaultSnippet> ALL_DEFAULT_SNIPPETS = Collections
+			.unmodifiableSet(EnumSet.allOf(DefaultSnippet.class));
+
 	private final String outputDir;
 
-	private List<ResultHandler> delegates = new ArrayList<>();
+	private final List<DelegateFactory> delegateFactories = new ArrayList<DelegateFactory>();
+
+	private final List<ResultHandler> delegates = new ArrayList<ResultHandler>();
+
+	private Set<DefaultSnippet> defaultSnippets;
 
 	RestDocumentationResultHandler(String outputDir) {
 		this.outputDir = outputDir;
+	}
 
-		this.delegates = new ArrayList<ResultHandler>();
-		this.delegates.add(documentCurlRequest(this.outputDir));
-		this.delegates.add(documentHttpRequest(this.outputDir));
-		this.delegates.add(documentHttpResponse(this.outputDir));
+	/**
+	 * Produces only the given {@code defaultSnippets} when documenting the API call,
+	 * overriding the defaults that have been configured using
+	 * {@link SnippetConfigurer#withDefaults(DefaultSnippet...)}. Calling this method with
+	 * no snippets will prevent any of the default snippets from being produced.
+	 * 
+	 * @param defaultSnippets the default snippets to produce
+	 * @return {@code this}
+	 */
+	public RestDocumentationResultHandler withDefaultSnippets(
+			DefaultSnippet... defaultSnippets) {
+		this.defaultSnippets = EnumSet.noneOf(DefaultSnippet.class);
+		this.defaultSnippets.addAll(Arrays.asList(defaultSnippets));
+		return this;
 	}
 
 	/**
@@ -92,10 +117,16 @@ public class RestDocumentationResultHandler implements ResultHandler {
 	 * @return {@code this}
 	 * @see HypermediaDocumentation#linkWithRel(String)
 	 */
-	public RestDocumentationResultHandler withLinks(LinkExtractor linkExtractor,
-			LinkDescriptor... descriptors) {
-		this.delegates.add(documentLinks(this.outputDir, linkExtractor, descriptors));
-		return this;
+	public RestDocumentationResultHandler withLinks(final LinkExtractor linkExtractor,
+			final LinkDescriptor... descriptors) {
+		return addDelegate(new DelegateFactory() {
+
+			@Override
+			public ResultHandler createDelegate(String outputDir) {
+				return documentLinks(outputDir, linkExtractor, descriptors);
+			}
+
+		});
 	}
 
 	/**
@@ -114,8 +145,29 @@ public class RestDocumentationResultHandler implements ResultHandler {
 	 */
 	public RestDocumentationResultHandler withRequestFields(
 			FieldDescriptor... descriptors) {
-		this.delegates.add(documentRequestFields(this.outputDir, descriptors));
-		return this;
+		return withRequestFields(PayloadDocumentation.fieldDescriptors(descriptors));
+	}
+
+	/**
+	 * Document the fields in the request using the given compiled {@code descriptors}.
+	 * Compiled descriptors can be shared by any number of tests that document the same
+	 * request payload.
+	 * 
+	 * @param descriptors the compiled field descriptors
+	 * @return {@code this}
+	 * @see #withRequestFields(FieldDescriptor...)
+	 * @see PayloadDocumentation#fieldDescriptors(FieldDescriptor...)
+	 */
+	public RestDocumentationResultHandler withRequestFields(
+			final FieldDescriptors descriptors) {
+		return addDelegate(new DelegateFactory() {
+
+			@Override
+			public ResultHandler createDelegate(String outputDir) {
+				return documentRequestFields(outputDir, descriptors);
+			}
+
+		});
 	}
 
 	/**
@@ -134,8 +186,29 @@ public class RestDocumentationResultHandler implements ResultHandler {
 	 */
 	public RestDocumentationResultHandler withResponseFields(
 			FieldDescriptor... descriptors) {
-		this.delegates.add(documentResponseFields(this.outputDir, descriptors));
-		return this;
+		return withResponseFields(PayloadDocumentation.fieldDescriptors(descriptors));
+	}
+
+	/**
+	 * Document the fields in the response using the given compiled {@code descriptors}.
+	 * Compiled descriptors can be shared by any number of tests that document the same
+	 * response payload.
+	 * 
+	 * @param descriptors the compiled field descriptors
+	 * @return {@code this}
+	 * @see #withResponseFields(FieldDescriptor...)
+	 * @see PayloadDocumentation#fieldDescriptors(FieldDescriptor...)
+	 */
+	public RestDocumentationResultHandler withResponseFields(
+			final FieldDescriptors descriptors) {
+		return addDelegate(new DelegateFactory() {
+
+			@Override
+			public ResultHandler createDelegate(String outputDir) {
+				return documentResponseFields(outputDir, descriptors);
+			}
+
+		});
 	}
 
 	/**
@@ -152,16 +225,120 @@ public class RestDocumentationResultHandler implements ResultHandler {
 	 * @see RequestDocumentation#parameterWithName(String)
 	 */
 	public RestDocumentationResultHandler withQueryParameters(
-			ParameterDescriptor... descriptors) {
-		this.delegates.add(documentQueryParameters(this.outputDir, descriptors));
+			final ParameterDescriptor... descriptors) {
+		return addDelegate(new DelegateFactory() {
+
+			@Override
+			public ResultHandler createDelegate(String outputDir) {
+				return documentQueryParameters(outputDir, descriptors);
+			}
+
+		});
+	}
+
+	/**
+	 * Documents the latency and response size of the request by replaying it
+	 * {@code replays} times using the given {@code mockMvc}. The replayed requests are
+	 * not themselves documented.
+	 * 
+	 * @param mockMvc the {@code MockMvc} used to replay the request
+	 * @param replays the number of times the request is replayed
+	 * @return {@code this}
+	 * @see StatisticsDocumentation#documentStatistics(String, MockMvc, int)
+	 */
+	public RestDocumentationResultHandler withStatistics(final MockMvc mockMvc,
+			final int replays) {
+		return addDelegate(new DelegateFactory() {
+
+			@Override
+			public ResultHandler createDelegate(String outputDir) {
+				return documentStatistics(outputDir, mockMvc, replays);
+			}
+
+		});
+	}
+
+	private RestDocumentationResultHandler addDelegate(DelegateFactory delegateFactory) {
+		this.delegateFactories.add(delegateFactory);
+		this.delegates.add(delegateFactory.createDelegate(this.outputDir));
 		return this;
 	}
 
+	String getOutputDir() {
+		return this.outputDir;
+	}
+
 	@Override
 	public void handle(MvcResult result) throws Exception {
-		for (ResultHandler delegate : this.delegates) {
+		handle(result, this.outputDir);
+	}
+
+	/**
+	 * Documents the given {@code result} to the given {@code outputDir} rather than to
+	 * this handler's own output directory, allowing a single handler, and the descriptors
+	 * and post-processors with which it has been configured, to be shared by the many
+	 * results of a batch.
+	 *
+	 * @param result the result to document
+	 * @param outputDir the directory to which the documentation will be written
+	 * @throws Exception if the result cannot be documented
+	 */
+	void handle(MvcResult result, String outputDir) throws Exception {
+		if (StatisticsDocumentation.isReplay(result.getRequest())) {
+			return;
+		}
+		if (result.getRequest().isAsyncStarted()) {
+			// The response is not yet available. The result of dispatching it is
+			// documented instead
+			return;
+		}
+		document(result, outputDir);
+		// Content is retained if documentation fails so that the failure can be diagnosed
+		RestDocumentationContext context = RestDocumentationContext.currentContext();
+		if (context != null && context.isContentReleasedAfterDocumentation()) {
+			ContentReleaser.release(result);
+		}
+	}
+
+	void document(MvcResult result, String outputDir) throws Exception {
+		for (DefaultSnippet defaultSnippet : getDefaultSnippets()) {
+			defaultSnippet.createHandler(outputDir).handle(result);
+		}
+		for (ResultHandler delegate : getDelegates(outputDir)) {
 			delegate.handle(result);
 		}
 	}
 
+	private List<ResultHandler> getDelegates(String outputDir) {
+		if (this.outputDir.equals(outputDir)) {
+			return this.delegates;
+		}
+		List<ResultHandler> delegates = new ArrayList<ResultHandler>();
+		for (DelegateFactory delegateFactory : this.delegateFactories) {
+			delegates.add(delegateFactory.createDelegate(outputDir));
+		}
+		return delegates;
+	}
+
+	private Set<DefaultSnippet> getDefaultSnippets() {
+		if (this.defaultSnippets != null) {
+			return this.defaultSnippets;
+		}
+		RestDocumentationContext context = RestDocumentationContext.currentContext();
+		if (context == null || context.getDefaultSnippets() == null) {
+			return ALL_DEFAULT_SNIPPETS;
+		}
+		return context.getDefaultSnippets();
+	}
+
+	/**
+	 * Creates the {@link ResultHandler} that produces one of the snippets with which this
+	 * handler has been configured.
+	 */
+	private interface DelegateFactory {
+
+		ResultHandler createDelegate(String outputDir);
+
+	}
+
 }
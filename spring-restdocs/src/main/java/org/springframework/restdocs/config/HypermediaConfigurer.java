@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.config;
+
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.restdocs.hypermedia.LinkExtractor;
+import org.springframework.restdocs.hypermedia.LinkExtractorRegistry;
+
+/**
+ * A configurer that can be used to configure the documentation of hypermedia links.
+ * 
+ * @author Andy Wilkinson
+ */
+public class HypermediaConfigurer extends
+		AbstractNestedConfigurer<RestDocumentationConfigurer> {
+
+	private LinkExtractorRegistry linkExtractorRegistry;
+
+	HypermediaConfigurer(RestDocumentationConfigurer parent) {
+		super(parent);
+	}
+
+	/**
+	 * Configures the given {@code linkExtractor} to be used to extract links from
+	 * responses with a content type that is compatible with the given {@code mediaType}
+	 * when links are documented without specifying an extractor. Extractors configured
+	 * here take precedence over the default extractors.
+	 * @param mediaType the media type
+	 * @param linkExtractor the link extractor
+	 * @return {@code this}
+	 */
+	public HypermediaConfigurer withLinkExtractor(MediaType mediaType,
+			LinkExtractor linkExtractor) {
+		if (this.linkExtractorRegistry == null) {
+			this.linkExtractorRegistry = new LinkExtractorRegistry();
+		}
+		this.linkExtractorRegistry.register(mediaType, linkExtractor);
+		return this;
+	}
+
+	@Override
+	void apply(MockHttpServletRequest request) {
+		RestDocumentationContext context = RestDocumentationContext.currentContext();
+		if (context != null) {
+			context.setLinkExtractorRegistry(this.linkExtractorRegistry);
+		}
+	}
+
+}
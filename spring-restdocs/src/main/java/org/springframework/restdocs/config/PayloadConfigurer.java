@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.config;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.restdocs.payload.PayloadBudget;
+import org.springframework.restdocs.payload.PayloadDocumentation;
+import org.springframework.util.Assert;
+
+/**
+ * A configurer that can be used to configure the processing of request and response
+ * payloads.
+ * 
+ * @author Andy Wilkinson
+ */
+public class PayloadConfigurer extends
+		AbstractNestedConfigurer<RestDocumentationConfigurer> {
+
+	/**
+	 * The default size above which the items in an array are processed in parallel
+	 * @see #withParallelTraversalThreshold(int)
+	 */
+	public static final int DEFAULT_PARALLEL_TRAVERSAL_THRESHOLD = PayloadDocumentation.DEFAULT_PARALLEL_TRAVERSAL_THRESHOLD;
+
+	private int parallelTraversalThreshold = DEFAULT_PARALLEL_TRAVERSAL_THRESHOLD;
+
+	private boolean undocumentedPayloadIncludedInFailures;
+
+	private boolean contentReleasedAfterDocumentation;
+
+	private PayloadBudget responseBudget;
+
+	PayloadConfigurer(RestDocumentationConfigurer parent) {
+		super(parent);
+	}
+
+	/**
+	 * Configures the items of any array in a payload that contains more than the given
+	 * number of items to be processed in parallel when the payload's fields are
+	 * documented. The default is {@code 10000}.
+	 * @param threshold The array size above which items are processed in parallel, must
+	 * be greater than zero
+	 * @return {@code this}
+	 */
+	public PayloadConfigurer withParallelTraversalThreshold(int threshold) {
+		Assert.isTrue(threshold > 0, "threshold must be greater than zero");
+		this.parallelTraversalThreshold = threshold;
+		return this;
+	}
+
+	/**
+	 * Configures whether or not the whole of the undocumented part of a payload is
+	 * included in the description of a failure caused by undocumented fields. By default
+	 * only a summary of the undocumented fields' paths is included.
+	 * @param include {@code true} to include the undocumented payload, otherwise
+	 * {@code false}
+	 * @return {@code this}
+	 */
+	public PayloadConfigurer withUndocumentedPayloadInFailures(boolean include) {
+		this.undocumentedPayloadIncludedInFailures = include;
+		return this;
+	}
+
+	/**
+	 * Configures whether or not the content of the request and response is released
+	 * once they have been documented. Releasing the content allows the memory that it
+	 * uses to be reclaimed while the test continues to run, which is useful when
+	 * documenting many requests with large payloads in a single test. Content should
+	 * only be released when the result is documented after any expectations that
+	 * require the content have been checked. By default the content is not released.
+	 * @param release {@code true} to release the content, otherwise {@code false}
+	 * @return {@code this}
+	 */
+	public PayloadConfigurer withContentReleasedAfterDocumentation(boolean release) {
+		this.contentReleasedAfterDocumentation = release;
+		return this;
+	}
+
+	/**
+	 * Configures the budget against which the size and complexity of a response's
+	 * payload is checked when its fields are documented. A response that exceeds the
+	 * budget causes a failure and the metrics of every checked response are documented
+	 * in a {@code response-metrics} snippet. A budget that is configured for an
+	 * individual response fields handler takes precedence. By default there is no
+	 * budget.
+	 * @param budget The budget
+	 * @return {@code this}
+	 * @see PayloadDocumentation#payloadBudget()
+	 */
+	public PayloadConfigurer withResponseBudget(PayloadBudget budget) {
+		this.responseBudget = budget;
+		return this;
+	}
+
+	@Override
+	void apply(MockHttpServletRequest request) {
+		RestDocumentationContext context = RestDocumentationContext.currentContext();
+		if (context != null) {
+			context.setParallelTraversalThreshold(this.parallelTraversalThreshold);
+			context.setUndocumentedPayloadIncludedInFailures(
+					this.undocumentedPayloadIncludedInFailures);
+			context.setContentReleasedAfterDocumentation(
+					this.contentReleasedAfterDocumentation);
+			context.setResponseBudget(this.responseBudget);
+		}
+	}
+
+}
@@ -42,6 +42,11 @@ public class RestDocumentationConfigurer extends MockMvcConfigurerAdapter {
 
 	private final SnippetConfigurer snippetConfigurer = new SnippetConfigurer(this);
 
+	private final PayloadConfigurer payloadConfigurer = new PayloadConfigurer(this);
+
+	private final HypermediaConfigurer hypermediaConfigurer = new HypermediaConfigurer(
+			this);
+
 	private final RequestPostProcessor requestPostProcessor;
 
 	/**
@@ -51,7 +56,8 @@ public class RestDocumentationConfigurer extends MockMvcConfigurerAdapter {
 	public RestDocumentationConfigurer() {
 		this.requestPostProcessor = new ConfigurerApplyingRequestPostProcessor(
 				Arrays.<AbstractConfigurer> asList(this.uriConfigurer,
-						this.snippetConfigurer, new StepCountConfigurer(),
+						this.snippetConfigurer, this.payloadConfigurer,
+						this.hypermediaConfigurer, new StepCountConfigurer(),
 						new ContentLengthHeaderConfigurer()));
 	}
 
@@ -63,6 +69,14 @@ public class RestDocumentationConfigurer extends MockMvcConfigurerAdapter {
 		return this.snippetConfigurer;
 	}
 
+	public PayloadConfigurer payloads() {
+		return this.payloadConfigurer;
+	}
+
+	public HypermediaConfigurer hypermedia() {
+		return this.hypermediaConfigurer;
+	}
+
 	@Override
 	public RequestPostProcessor beforeMockMvcCreated(
 			ConfigurableMockMvcBuilder<?> builder, WebApplicationContext context) {
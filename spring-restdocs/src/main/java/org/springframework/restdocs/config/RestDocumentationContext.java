@@ -17,8 +17,15 @@
 package org.springframework.restdocs.config;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.restdocs.DefaultSnippet;
+import org.springframework.restdocs.hypermedia.LinkExtractorRegistry;
+import org.springframework.restdocs.payload.PayloadBudget;
+import org.springframework.restdocs.snippet.SnippetFormat;
+
 /**
  * {@code RestDocumentationContext} encapsulates the context in which the documentation of
  * a RESTful API is being performed.
@@ -35,6 +42,20 @@ public final class RestDocumentationContext {
 
 	private String snippetEncoding;
 
+	private List<SnippetFormat> snippetFormats;
+
+	private Set<DefaultSnippet> defaultSnippets;
+
+	private int parallelTraversalThreshold = PayloadConfigurer.DEFAULT_PARALLEL_TRAVERSAL_THRESHOLD;
+
+	private boolean undocumentedPayloadIncludedInFailures;
+
+	private boolean contentReleasedAfterDocumentation;
+
+	private PayloadBudget responseBudget;
+
+	private LinkExtractorRegistry linkExtractorRegistry;
+
 	private RestDocumentationContext() {
 		this(null);
 	}
@@ -83,6 +104,104 @@ public final class RestDocumentationContext {
 		return this.snippetEncoding;
 	}
 
+	void setSnippetFormats(List<SnippetFormat> snippetFormats) {
+		this.snippetFormats = snippetFormats;
+	}
+
+	/**
+	 * Gets the formats in which snippets should be written
+	 * 
+	 * @return The snippet formats
+	 */
+	public List<SnippetFormat> getSnippetFormats() {
+		return this.snippetFormats;
+	}
+
+	void setDefaultSnippets(Set<DefaultSnippet> defaultSnippets) {
+		this.defaultSnippets = defaultSnippets;
+	}
+
+	/**
+	 * Gets the snippets that should be produced by default, or {@code null} if every
+	 * default snippet should be produced
+	 * 
+	 * @return The default snippets, or {@code null}
+	 */
+	public Set<DefaultSnippet> getDefaultSnippets() {
+		return this.defaultSnippets;
+	}
+
+	void setParallelTraversalThreshold(int parallelTraversalThreshold) {
+		this.parallelTraversalThreshold = parallelTraversalThreshold;
+	}
+
+	/**
+	 * Gets the size above which the items in a payload's arrays are processed in
+	 * parallel
+	 * 
+	 * @return The parallel traversal threshold
+	 */
+	public int getParallelTraversalThreshold() {
+		return this.parallelTraversalThreshold;
+	}
+
+	void setUndocumentedPayloadIncludedInFailures(boolean included) {
+		this.undocumentedPayloadIncludedInFailures = included;
+	}
+
+	/**
+	 * Returns whether or not the whole of the undocumented part of a payload should be
+	 * included in the description of a failure caused by undocumented fields
+	 * 
+	 * @return {@code true} if the undocumented payload should be included, otherwise
+	 * {@code false}
+	 */
+	public boolean isUndocumentedPayloadIncludedInFailures() {
+		return this.undocumentedPayloadIncludedInFailures;
+	}
+
+	void setContentReleasedAfterDocumentation(boolean released) {
+		this.contentReleasedAfterDocumentation = released;
+	}
+
+	/**
+	 * Returns whether or not the content of a request and its response should be
+	 * released once they have been documented
+	 * 
+	 * @return {@code true} if the content should be released, otherwise {@code false}
+	 */
+	public boolean isContentReleasedAfterDocumentation() {
+		return this.contentReleasedAfterDocumentation;
+	}
+
+	void setResponseBudget(PayloadBudget responseBudget) {
+		this.responseBudget = responseBudget;
+	}
+
+	/**
+	 * Returns the budget against which the payloads of documented responses are checked
+	 * 
+	 * @return The response budget, or {@code null}
+	 */
+	public PayloadBudget getResponseBudget() {
+		return this.responseBudget;
+	}
+
+	void setLinkExtractorRegistry(LinkExtractorRegistry linkExtractorRegistry) {
+		this.linkExtractorRegistry = linkExtractorRegistry;
+	}
+
+	/**
+	 * Returns the registry that should be used to find the extractor for a response's
+	 * links when one has not been provided, or {@code null} if the default extractors
+	 * should be used
+	 * 
+	 * @return The link extractor registry, or {@code null}
+	 */
+	public LinkExtractorRegistry getLinkExtractorRegistry() {
+		return this.linkExtractorRegistry;
+	}
+
 	static void establishContext(Method testMethod) {
 		CONTEXTS.set(new RestDocumentationContext(testMethod));
 	}
@@ -16,7 +16,18 @@
 
 package org.springframework.restdocs.config;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.restdocs.DefaultSnippet;
+import org.springframework.restdocs.RestDocumentationResultHandler;
+import org.springframework.restdocs.snippet.SnippetFormat;
+import org.springframework.restdocs.snippet.SnippetFormats;
+import org.springframework.util.Assert;
 
 /**
  * A configurer that can be used to configure the generated documentation snippets.
@@ -35,6 +46,11 @@ public class SnippetConfigurer extends
 
 	private String snippetEncoding = DEFAULT_SNIPPET_ENCODING;
 
+	private Set<DefaultSnippet> defaultSnippets = EnumSet.allOf(DefaultSnippet.class);
+
+	private List<SnippetFormat> snippetFormats = Collections
+			.singletonList(SnippetFormats.asciidoctor());
+
 	SnippetConfigurer(RestDocumentationConfigurer parent) {
 		super(parent);
 	}
@@ -50,12 +66,49 @@ public class SnippetConfigurer extends
 		return this;
 	}
 
+	/**
+	 * Configures documentation snippets to be written in each of the given
+	 * {@code formats}. When more than one format is configured, each snippet is produced
+	 * once and then rendered in every format. The default is Asciidoctor.
+	 * @param formats The formats
+	 * @return {@code this}
+	 * @see SnippetFormats
+	 */
+	public SnippetConfigurer withFormats(SnippetFormat... formats) {
+		Assert.notEmpty(formats, "At least one format must be provided");
+		this.snippetFormats = Collections.unmodifiableList(Arrays.asList(formats
+				.clone()));
+		return this;
+	}
+
+	/**
+	 * Configures the snippets that are produced by default whenever an API call is
+	 * documented. By default, every {@link DefaultSnippet} is produced. Snippets that are
+	 * not configured are not produced at all. The defaults can be overridden when
+	 * documenting a particular call.
+	 * @param defaultSnippets The default snippets, may be empty
+	 * @return {@code this}
+	 * @see RestDocumentationResultHandler#withDefaultSnippets(DefaultSnippet...)
+	 */
+	public SnippetConfigurer withDefaults(DefaultSnippet... defaultSnippets) {
+		this.defaultSnippets = toSet(defaultSnippets);
+		return this;
+	}
+
 	@Override
 	void apply(MockHttpServletRequest request) {
 		RestDocumentationContext context = RestDocumentationContext.currentContext();
 		if (context != null) {
 			context.setSnippetEncoding(this.snippetEncoding);
+			context.setSnippetFormats(this.snippetFormats);
+			context.setDefaultSnippets(this.defaultSnippets);
 		}
 	}
 
+	private static Set<DefaultSnippet> toSet(DefaultSnippet... defaultSnippets) {
+		Set<DefaultSnippet> set = EnumSet.noneOf(DefaultSnippet.class);
+		set.addAll(Arrays.asList(defaultSnippets));
+		return Collections.unmodifiableSet(set);
+	}
+
 }
@@ -106,11 +106,13 @@ public abstract class CurlDocumentation {
 		}
 
 		private void writeAuthority(DocumentableHttpServletRequest request) {
-			this.writer.print(String.format("%s://%s", request.getScheme(),
-					request.getHost()));
+			this.writer.print(request.getScheme());
+			this.writer.print("://");
+			this.writer.print(request.getHost());
 
 			if (isNonStandardPort(request)) {
-				this.writer.print(String.format(":%d", request.getPort()));
+				this.writer.print(':');
+				this.writer.print(request.getPort());
 			}
 		}
 
@@ -120,10 +122,12 @@ public abstract class CurlDocumentation {
 		}
 
 		private void writePathAndQueryString(DocumentableHttpServletRequest request) {
-			if (StringUtils.hasText(request.getContextPath())) {
-				this.writer.print(String.format(
-						request.getContextPath().startsWith("/") ? "%s" : "/%s",
-						request.getContextPath()));
+			String contextPath = request.getContextPath();
+			if (StringUtils.hasText(contextPath)) {
+				if (!contextPath.startsWith("/")) {
+					this.writer.print('/');
+				}
+				this.writer.print(contextPath);
 			}
 
 			this.writer.print(request.getRequestUriWithQueryString());
@@ -135,15 +139,19 @@ public abstract class CurlDocumentation {
 
 		private void writeHttpMethodIfNecessary(DocumentableHttpServletRequest request) {
 			if (!request.isGetRequest()) {
-				this.writer.print(String.format(" -X %s", request.getMethod()));
+				this.writer.print(" -X ");
+				this.writer.print(request.getMethod());
 			}
 		}
 
 		private void writeHeaders(DocumentableHttpServletRequest request) {
 			for (Entry<String, List<String>> entry : request.getHeaders().entrySet()) {
 				for (String header : entry.getValue()) {
-					this.writer.print(String.format(" -H '%s: %s'", entry.getKey(),
-							header));
+					this.writer.print(" -H '");
+					this.writer.print(entry.getKey());
+					this.writer.print(": ");
+					this.writer.print(header);
+					this.writer.print('\'');
 				}
 			}
 		}
@@ -153,12 +161,15 @@ public abstract class CurlDocumentation {
 			for (Entry<String, List<MultipartFile>> entry : request.getMultipartFiles()
 					.entrySet()) {
 				for (MultipartFile file : entry.getValue()) {
-					this.writer.printf(" -F '%s=", file.getName());
+					this.writer.print(" -F '");
+					this.writer.print(file.getName());
+					this.writer.print('=');
 					if (!StringUtils.hasText(file.getOriginalFilename())) {
 						this.writer.append(new String(file.getBytes()));
 					}
 					else {
-						this.writer.printf("@%s", file.getOriginalFilename());
+						this.writer.print('@');
+						this.writer.print(file.getOriginalFilename());
 					}
 
 					if (StringUtils.hasText(file.getContentType())) {
@@ -173,21 +184,27 @@ public abstract class CurlDocumentation {
 		private void writeContent(DocumentableHttpServletRequest request)
 				throws IOException {
 			if (request.getContentLength() > 0) {
-				this.writer
-						.print(String.format(" -d '%s'", request.getContentAsString()));
+				this.writer.print(" -d '");
+				request.writeContent(this.writer);
+				this.writer.print('\'');
 			}
 			else if (request.isMultipartRequest()) {
 				for (Entry<String, String[]> entry : request.getParameterMap().entrySet()) {
 					for (String value : entry.getValue()) {
-						this.writer.print(String.format(" -F '%s=%s'", entry.getKey(),
-								value));
+						this.writer.print(" -F '");
+						this.writer.print(entry.getKey());
+						this.writer.print('=');
+						this.writer.print(value);
+						this.writer.print('\'');
 					}
 				}
 			}
 			else if (request.isPostRequest() || request.isPutRequest()) {
 				String queryString = request.getParameterMapAsQueryString();
 				if (StringUtils.hasText(queryString)) {
-					this.writer.print(String.format(" -d '%s'", queryString));
+					this.writer.print(" -d '");
+					this.writer.print(queryString);
+					this.writer.print('\'');
 				}
 			}
 		}
@@ -98,8 +98,10 @@ public abstract class HttpDocumentation {
 		public void perform() throws IOException {
 			DocumentableHttpServletRequest request = new DocumentableHttpServletRequest(
 					this.result.getRequest());
-			this.writer.printf("%s %s HTTP/1.1%n", request.getMethod(),
-					request.getRequestUriWithQueryString());
+			this.writer.print(request.getMethod());
+			this.writer.print(' ');
+			this.writer.print(request.getRequestUriWithQueryString());
+			this.writer.println(" HTTP/1.1");
 			if (requiresHostHeader(request)) {
 				writeHeader(HttpHeaders.HOST, request.getHost());
 			}
@@ -107,11 +109,11 @@ public abstract class HttpDocumentation {
 				for (String value : header.getValue()) {
 					if (header.getKey() == HttpHeaders.CONTENT_TYPE
 							&& request.isMultipartRequest()) {
-						writeHeader(header.getKey(), String.format("%s; boundary=%s",
-								value, MULTIPART_BOUNDARY));
+						writeHeader(header.getKey(), value + "; boundary="
+								+ MULTIPART_BOUNDARY);
 					}
 					else {
-						this.writer.printf("%s: %s%n", header.getKey(), value);
+						writeHeader(header.getKey(), value);
 					}
 
 				}
@@ -122,7 +124,8 @@ public abstract class HttpDocumentation {
 			}
 			this.writer.println();
 			if (request.getContentLength() > 0) {
-				this.writer.println(request.getContentAsString());
+				request.writeContent(this.writer);
+				this.writer.println();
 			}
 			else if (request.isPostRequest() || request.isPutRequest()) {
 				if (request.isMultipartRequest()) {
@@ -149,7 +152,9 @@ public abstract class HttpDocumentation {
 		}
 
 		private void writeHeader(String name, String value) {
-			this.writer.printf("%s: %s%n", name, value);
+			this.writer.print(name);
+			this.writer.print(": ");
+			this.writer.println(value);
 		}
 
 		private void writeParts(DocumentableHttpServletRequest request)
@@ -173,13 +178,14 @@ public abstract class HttpDocumentation {
 		}
 
 		private void writePartBoundary() {
-			this.writer.printf("--%s%n", MULTIPART_BOUNDARY);
+			this.writer.print("--");
+			this.writer.println(MULTIPART_BOUNDARY);
 		}
 
 		private void writePart(String name, String value, String contentType) {
-			this.writer.printf("Content-Disposition: form-data; name=%s%n", name);
+			writeHeader("Content-Disposition", "form-data; name=" + name);
 			if (StringUtils.hasText(contentType)) {
-				this.writer.printf("Content-Type: %s%n", contentType);
+				writeHeader(HttpHeaders.CONTENT_TYPE, contentType);
 			}
 			this.writer.println();
 			this.writer.print(value);
@@ -190,7 +196,9 @@ public abstract class HttpDocumentation {
 		}
 
 		private void writeMultipartEnd() {
-			this.writer.printf("--%s--%n", MULTIPART_BOUNDARY);
+			this.writer.print("--");
+			this.writer.print(MULTIPART_BOUNDARY);
+			this.writer.println("--");
 		}
 	}
 
@@ -209,11 +217,15 @@ public abstract class HttpDocumentation {
 		@Override
 		public void perform() throws IOException {
 			HttpStatus status = HttpStatus.valueOf(this.result.getResponse().getStatus());
-			this.writer.println(String.format("HTTP/1.1 %d %s", status.value(),
-					status.getReasonPhrase()));
+			this.writer.print("HTTP/1.1 ");
+			this.writer.print(status.value());
+			this.writer.print(' ');
+			this.writer.println(status.getReasonPhrase());
 			for (String headerName : this.result.getResponse().getHeaderNames()) {
 				for (String header : this.result.getResponse().getHeaders(headerName)) {
-					this.writer.println(String.format("%s: %s", headerName, header));
+					this.writer.print(headerName);
+					this.writer.print(": ");
+					this.writer.println(header);
 				}
 			}
 			this.writer.println();
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.hypermedia;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * A registry of {@link LinkExtractor LinkExtractors} keyed by the media type of the
+ * responses from which they can extract links. By default, the registry contains an
+ * extractor for Atom-style links in {@code application/json} responses and an extractor
+ * for HAL-style links in {@code application/hal+json} responses.
+ * <p>
+ * The extractor for a particular {@code Content-Type} is looked up once and then
+ * remembered, so resolving the extractor for the responses of an API that uses a small
+ * number of content types is cheap.
+ *
+ * @author Andy Wilkinson
+ */
+public class LinkExtractorRegistry {
+
+	private final List<Registration> registrations = new CopyOnWriteArrayList<Registration>();
+
+	private final ConcurrentMap<String, LinkExtractor> extractorsByContentType = new ConcurrentHashMap<String, LinkExtractor>();
+
+	private final Set<String> contentTypesWithoutExtractor = Collections
+			.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+	/**
+	 * Creates a new {@code LinkExtractorRegistry} that contains the default extractors.
+	 */
+	public LinkExtractorRegistry() {
+		register(MediaType.APPLICATION_JSON, LinkExtractors.atomLinks());
+		register(new MediaType("application", "hal+json"), LinkExtractors.halLinks());
+	}
+
+	/**
+	 * Registers the given {@code extractor} for responses with a content type that is
+	 * compatible with the given {@code mediaType}. Extractors that are registered later
+	 * take precedence over those that were registered earlier, including the default
+	 * extractors.
+	 *
+	 * @param mediaType The media type
+	 * @param extractor The extractor
+	 * @return {@code this}
+	 */
+	public LinkExtractorRegistry register(MediaType mediaType, LinkExtractor extractor) {
+		Assert.notNull(mediaType, "mediaType must not be null");
+		Assert.notNull(extractor, "extractor must not be null");
+		this.registrations.add(0, new Registration(mediaType, extractor));
+		this.extractorsByContentType.clear();
+		this.contentTypesWithoutExtractor.clear();
+		return this;
+	}
+
+	/**
+	 * Returns the {@code LinkExtractor} for the given {@code contentType} or {@code null}
+	 * if there is no extractor for the content type.
+	 *
+	 * @param contentType The content type, may include parameters
+	 * @return The extractor for the content type, or {@code null}
+	 */
+	public LinkExtractor extractorForContentType(String contentType) {
+		if (!StringUtils.hasText(contentType)
+				|| this.contentTypesWithoutExtractor.contains(contentType)) {
+			return null;
+		}
+		LinkExtractor extractor = this.extractorsByContentType.get(contentType);
+		if (extractor == null) {
+			extractor = resolveExtractor(MediaType.parseMediaType(contentType));
+			if (extractor == null) {
+				this.contentTypesWithoutExtractor.add(contentType);
+			}
+			else {
+				this.extractorsByContentType.putIfAbsent(contentType, extractor);
+			}
+		}
+		return extractor;
+	}
+
+	private LinkExtractor resolveExtractor(MediaType mediaType) {
+		for (Registration registration : this.registrations) {
+			if (mediaType.isCompatibleWith(registration.mediaType)) {
+				return registration.extractor;
+			}
+		}
+		return null;
+	}
+
+	private static final class Registration {
+
+		private final MediaType mediaType;
+
+		private final LinkExtractor extractor;
+
+		private Registration(MediaType mediaType, LinkExtractor extractor) {
+			this.mediaType = mediaType;
+			this.extractor = extractor;
+		}
+
+	}
+
+}
@@ -24,11 +24,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.util.StringUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -40,6 +38,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public abstract class LinkExtractors {
 
+	private static final LinkExtractorRegistry DEFAULT_REGISTRY = new LinkExtractorRegistry();
+
 	private LinkExtractors() {
 
 	}
@@ -67,22 +67,14 @@ public abstract class LinkExtractors {
 
 	/**
 	 * Returns the {@code LinkExtractor} for the given {@code contentType} or {@code null}
-	 * if there is no extractor for the content type.
+	 * if there is no extractor for the content type. The extractor is resolved using a
+	 * {@link LinkExtractorRegistry} that contains the default extractors.
 	 *
 	 * @param contentType The content type, may include parameters
 	 * @return The extractor for the content type, or {@code null}
 	 */
 	public static LinkExtractor extractorForContentType(String contentType) {
-		if (StringUtils.hasText(contentType)) {
-			MediaType mediaType = MediaType.parseMediaType(contentType);
-			if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
-				return atomLinks();
-			}
-			if (mediaType.isCompatibleWith(HalLinkExtractor.HAL_MEDIA_TYPE)) {
-				return halLinks();
-			}
-		}
-		return null;
+		return DEFAULT_REGISTRY.extractorForContentType(contentType);
 	}
 
 	private abstract static class JsonContentLinkExtractor implements LinkExtractor {
@@ -104,9 +96,6 @@ public abstract class LinkExtractors {
 	@SuppressWarnings("unchecked")
 	static class HalLinkExtractor extends JsonContentLinkExtractor {
 
-		private static final MediaType HAL_MEDIA_TYPE = new MediaType("application",
-				"hal+json");
-
 		@Override
 		public Map<String, List<Link>> extractLinks(Map<String, Object> json) {
 			Map<String, List<Link>> extractedLinks = new LinkedHashMap<>();
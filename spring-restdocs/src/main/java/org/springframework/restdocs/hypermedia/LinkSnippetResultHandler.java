@@ -24,6 +24,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import org.springframework.restdocs.config.RestDocumentationContext;
+import org.springframework.restdocs.snippet.DocumentationCoverage;
 import org.springframework.restdocs.snippet.DocumentationWriter;
 import org.springframework.restdocs.snippet.DocumentationWriter.TableAction;
 import org.springframework.restdocs.snippet.DocumentationWriter.TableWriter;
@@ -64,6 +66,7 @@ public class LinkSnippetResultHandler extends SnippetWritingResultHandler {
 	protected void handle(MvcResult result, DocumentationWriter writer)
 			throws IOException {
 		validate(extractLinks(result));
+		DocumentationCoverage.recordLinks(result, this.descriptorsByRel.keySet());
 		writeDocumentationSnippet(writer);
 	}
 
@@ -73,8 +76,8 @@ public class LinkSnippetResultHandler extends SnippetWritingResultHandler {
 		}
 		else {
 			String contentType = result.getResponse().getContentType();
-			LinkExtractor extractorForContentType = LinkExtractors
-					.extractorForContentType(contentType);
+			LinkExtractor extractorForContentType = getExtractorForContentType(
+					contentType);
 			if (extractorForContentType != null) {
 				return extractorForContentType.extractLinks(result.getResponse());
 			}
@@ -85,6 +88,15 @@ public class LinkSnippetResultHandler extends SnippetWritingResultHandler {
 		}
 	}
 
+	private LinkExtractor getExtractorForContentType(String contentType) {
+		RestDocumentationContext context = RestDocumentationContext.currentContext();
+		if (context != null && context.getLinkExtractorRegistry() != null) {
+			return context.getLinkExtractorRegistry().extractorForContentType(
+					contentType);
+		}
+		return LinkExtractors.extractorForContentType(contentType);
+	}
+
 	private void validate(Map<String, List<Link>> links) {
 		Set<String> actualRels = links.keySet();
 
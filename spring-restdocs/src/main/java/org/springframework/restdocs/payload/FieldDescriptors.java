@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.payload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.restdocs.RestDocumentationResultHandler;
+import org.springframework.util.Assert;
+
+/**
+ * An immutable, compiled set of {@link FieldDescriptor FieldDescriptors}. The
+ * descriptors are checked and their paths are compiled once, when the set is created,
+ * allowing a set that describes a commonly used resource to be shared by many tests.
+ * Changes that are made to the descriptors once the set has been created have no effect
+ * on the set.
+ *
+ * @author Andy Wilkinson
+ * @see PayloadDocumentation#fieldDescriptors(FieldDescriptor...)
+ * @see RestDocumentationResultHandler#withRequestFields(FieldDescriptors)
+ * @see RestDocumentationResultHandler#withResponseFields(FieldDescriptors)
+ */
+public final class FieldDescriptors {
+
+	private final Map<String, FieldDescriptor> descriptorsByPath;
+
+	private final Map<String, FieldPath> fieldPaths;
+
+	private final List<FieldPath> allFieldPaths;
+
+	private final List<Object> signature;
+
+	FieldDescriptors(List<FieldDescriptor> descriptors) {
+		Map<String, FieldDescriptor> descriptorsByPath = new LinkedHashMap<String, FieldDescriptor>();
+		Map<String, FieldPath> fieldPaths = new LinkedHashMap<String, FieldPath>();
+		for (FieldDescriptor descriptor : descriptors) {
+			Assert.notNull(descriptor.getPath());
+			Assert.hasText(descriptor.getDescription());
+			descriptorsByPath.put(descriptor.getPath(), copy(descriptor));
+			if (!fieldPaths.containsKey(descriptor.getPath())) {
+				fieldPaths.put(descriptor.getPath(),
+						FieldPath.compile(descriptor.getPath()));
+			}
+		}
+		this.descriptorsByPath = Collections.unmodifiableMap(descriptorsByPath);
+		this.fieldPaths = Collections.unmodifiableMap(fieldPaths);
+		this.allFieldPaths = Collections.unmodifiableList(new ArrayList<FieldPath>(
+				fieldPaths.values()));
+		this.signature = createSignature(this.descriptorsByPath.values());
+	}
+
+	private static List<Object> createSignature(Collection<FieldDescriptor> descriptors) {
+		List<Object> signature = new ArrayList<Object>();
+		for (FieldDescriptor descriptor : descriptors) {
+			signature.add(Arrays.asList(descriptor.getPath(), descriptor.getType(),
+					descriptor.isOptional()));
+		}
+		return Collections.unmodifiableList(signature);
+	}
+
+	private static FieldDescriptor copy(FieldDescriptor descriptor) {
+		FieldDescriptor copy = new FieldDescriptor(descriptor.getPath()).type(
+				descriptor.getType()).description(descriptor.getDescription());
+		return descriptor.isOptional() ? copy.optional() : copy;
+	}
+
+	Set<String> getPaths() {
+		return this.descriptorsByPath.keySet();
+	}
+
+	Collection<FieldDescriptor> getDescriptors() {
+		return this.descriptorsByPath.values();
+	}
+
+	FieldPath getFieldPath(FieldDescriptor descriptor) {
+		return this.fieldPaths.get(descriptor.getPath());
+	}
+
+	List<FieldPath> getFieldPaths() {
+		return this.allFieldPaths;
+	}
+
+	/**
+	 * Returns the signature of the descriptors. Two sets of descriptors with equal
+	 * signatures describe the same paths, with the same types and optionality, in the
+	 * same order and, therefore, validate a payload in the same way. Descriptions are not
+	 * part of the signature.
+	 *
+	 * @return the signature
+	 */
+	Object getSignature() {
+		return this.signature;
+	}
+
+}
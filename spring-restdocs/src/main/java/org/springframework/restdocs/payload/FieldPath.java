@@ -16,13 +16,16 @@
 
 package org.springframework.restdocs.payload;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * A path that identifies a field in a payload
+ * A path that identifies a field in a payload. In addition to named and array segments,
+ * a path may contain {@code *}, which matches every key of an object, and a single
+ * {@code ..}, which matches the rest of the path at any depth beneath the preceding
+ * segments.
  * 
  * @author Andy Wilkinson
  *
@@ -32,16 +35,27 @@ final class FieldPath {
 	private static final Pattern ARRAY_INDEX_PATTERN = Pattern
 			.compile("\\[([0-9]+|\\*){0,1}\\]");
 
+	static final String KEY_WILDCARD = "*";
+
+	static final String RECURSIVE_DESCENT = "..";
+
+	private static final int NOT_AN_ARRAY = -2;
+
+	private static final int WILDCARD = -1;
+
 	private final String rawPath;
 
 	private final List<String> segments;
 
+	private final int[] arrayIndices;
+
 	private final boolean precise;
 
-	private FieldPath(String rawPath, List<String> segments, boolean precise) {
+	private FieldPath(String rawPath, List<String> segments, int[] arrayIndices) {
 		this.rawPath = rawPath;
 		this.segments = segments;
-		this.precise = precise;
+		this.arrayIndices = arrayIndices;
+		this.precise = matchesSingleValue(segments, arrayIndices);
 	}
 
 	boolean isPrecise() {
@@ -52,6 +66,31 @@ final class FieldPath {
 		return this.segments;
 	}
 
+	boolean isArraySegment(int position) {
+		return this.arrayIndices[position] != NOT_AN_ARRAY;
+	}
+
+	boolean isWildcardKeySegment(int position) {
+		return KEY_WILDCARD.equals(this.segments.get(position));
+	}
+
+	boolean isRecursiveDescentSegment(int position) {
+		return RECURSIVE_DESCENT.equals(this.segments.get(position));
+	}
+
+	/**
+	 * Returns the index of the array item identified by the segment at the given
+	 * {@code position} or {@code -1} if the segment does not identify a single item.
+	 * Wildcard array segments, {@code []} and {@code [*]}, identify every item in an
+	 * array.
+	 *
+	 * @param position the position of the segment
+	 * @return the index of the array item or {@code -1}
+	 */
+	int getArrayIndex(int position) {
+		return this.arrayIndices[position] < 0 ? -1 : this.arrayIndices[position];
+	}
+
 	@Override
 	public String toString() {
 		return this.rawPath;
@@ -59,22 +98,55 @@ final class FieldPath {
 
 	static FieldPath compile(String path) {
 		List<String> segments = extractSegments(path);
-		return new FieldPath(path, segments, matchesSingleValue(segments));
+		validateRecursiveDescent(path, segments);
+		return new FieldPath(path, segments, extractArrayIndices(segments));
 	}
 
-	static boolean isArraySegment(String segment) {
-		return ARRAY_INDEX_PATTERN.matcher(segment).matches();
+	private static void validateRecursiveDescent(String path, List<String> segments) {
+		int index = segments.indexOf(RECURSIVE_DESCENT);
+		if (index < 0) {
+			return;
+		}
+		if (index == segments.size() - 1) {
+			throw new IllegalArgumentException("The recursive descent in '" + path
+					+ "' must be followed by at least one segment");
+		}
+		if (segments.lastIndexOf(RECURSIVE_DESCENT) != index) {
+			throw new IllegalArgumentException("'" + path
+					+ "' contains more than one recursive descent");
+		}
 	}
 
-	static boolean matchesSingleValue(List<String> segments) {
-		for (String segment : segments) {
-			if (isArraySegment(segment)) {
+	private static boolean matchesSingleValue(List<String> segments, int[] arrayIndices) {
+		for (int i = 0; i < arrayIndices.length; i++) {
+			if (arrayIndices[i] == WILDCARD || KEY_WILDCARD.equals(segments.get(i))
+					|| RECURSIVE_DESCENT.equals(segments.get(i))) {
 				return false;
 			}
 		}
 		return true;
 	}
 
+	private static int[] extractArrayIndices(List<String> segments) {
+		int[] arrayIndices = new int[segments.size()];
+		for (int i = 0; i < arrayIndices.length; i++) {
+			arrayIndices[i] = arrayIndexOf(segments.get(i));
+		}
+		return arrayIndices;
+	}
+
+	private static int arrayIndexOf(String segment) {
+		Matcher matcher = ARRAY_INDEX_PATTERN.matcher(segment);
+		if (!matcher.matches()) {
+			return NOT_AN_ARRAY;
+		}
+		String index = matcher.group(1);
+		if (index == null || "*".equals(index)) {
+			return WILDCARD;
+		}
+		return Integer.parseInt(index);
+	}
+
 	private static List<String> extractSegments(String path) {
 		Matcher matcher = ARRAY_INDEX_PATTERN.matcher(path);
 		StringBuilder buffer = new StringBuilder();
@@ -89,10 +161,30 @@ final class FieldPath {
 			appendWithSeparatorIfNecessary(buffer, path.substring(previous));
 		}
 
-		String processedPath = buffer.toString();
+		return splitSegments(buffer.toString());
+	}
 
-		return Arrays.asList(processedPath.indexOf('.') > -1 ? processedPath.split("\\.")
-				: new String[] { processedPath });
+	private static List<String> splitSegments(String path) {
+		List<String> segments = new ArrayList<String>();
+		int start = 0;
+		while (start < path.length()) {
+			if (path.startsWith(RECURSIVE_DESCENT, start)) {
+				segments.add(RECURSIVE_DESCENT);
+				start += RECURSIVE_DESCENT.length();
+			}
+			else {
+				int end = path.indexOf('.', start);
+				if (end < 0) {
+					end = path.length();
+				}
+				segments.add(path.substring(start, end));
+				start = path.startsWith(RECURSIVE_DESCENT, end) ? end : end + 1;
+			}
+		}
+		if (segments.isEmpty()) {
+			segments.add(path);
+		}
+		return segments;
 	}
 
 	private static void appendWithSeparatorIfNecessary(StringBuilder buffer,
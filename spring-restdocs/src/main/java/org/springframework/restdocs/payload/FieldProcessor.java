@@ -17,43 +17,110 @@
 package org.springframework.restdocs.payload;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Map.Entry;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * A {@code FieldProcessor} processes a payload's fields, allowing them to be extracted
- * and removed
+ * and removed. The items of an array that is larger than the processor's parallel
+ * traversal threshold are processed in parallel using a {@link ForkJoinPool}.
+ * <p>
+ * Removal of the fields identified by any number of paths is performed in a single
+ * traversal of the payload, with each node being visited once however many of the paths,
+ * wildcard or otherwise, may match beneath it.
  * 
  * @author Andy Wilkinson
  *
  */
 final class FieldProcessor {
 
-	boolean hasField(FieldPath fieldPath, Object payload) {
-		final AtomicReference<Boolean> hasField = new AtomicReference<Boolean>(false);
-		traverse(new ProcessingContext(payload, fieldPath), new MatchCallback() {
+	private static final Object REMOVED = new Object();
 
-			@Override
-			public void foundMatch(Match match) {
-				hasField.set(true);
-			}
+	private static final ForkJoinPool FORK_JOIN_POOL = new ForkJoinPool();
+
+	private static final ValueAccumulator<Boolean> PRESENCE = new ValueAccumulator<Boolean>() {
+
+		@Override
+		public Boolean initialResult() {
+			return false;
+		}
+
+		@Override
+		public Boolean accumulate(Boolean result, Object value) {
+			return true;
+		}
+
+		@Override
+		public Boolean combine(Boolean first, Boolean second) {
+			return first || second;
+		}
+
+		@Override
+		public boolean isComplete(Boolean result) {
+			return result;
+		}
+
+	};
+
+	private static final ValueAccumulator<List<Object>> VALUES = new ValueAccumulator<List<Object>>() {
+
+		@Override
+		public List<Object> initialResult() {
+			return new ArrayList<Object>();
+		}
+
+		@Override
+		public List<Object> accumulate(List<Object> result, Object value) {
+			result.add(value);
+			return result;
+		}
+
+		@Override
+		public List<Object> combine(List<Object> first, List<Object> second) {
+			first.addAll(second);
+			return first;
+		}
+
+		@Override
+		public boolean isComplete(List<Object> result) {
+			return false;
+		}
+
+	};
 
-		});
-		return hasField.get();
+	private final int parallelTraversalThreshold;
+
+	FieldProcessor() {
+		this(PayloadDocumentation.DEFAULT_PARALLEL_TRAVERSAL_THRESHOLD);
 	}
 
-	Object extract(FieldPath path, Object payload) {
-		final List<Object> matches = new ArrayList<Object>();
-		traverse(new ProcessingContext(payload, path), new MatchCallback() {
+	/**
+	 * Creates a new {@code FieldProcessor} that will process the items of any array with
+	 * more than {@code parallelTraversalThreshold} items in parallel.
+	 *
+	 * @param parallelTraversalThreshold the threshold for parallel traversal
+	 */
+	FieldProcessor(int parallelTraversalThreshold) {
+		this.parallelTraversalThreshold = parallelTraversalThreshold;
+	}
 
-			@Override
-			public void foundMatch(Match match) {
-				matches.add(match.getValue());
-			}
+	boolean hasField(FieldPath fieldPath, Object payload) {
+		return accumulate(fieldPath, payload, PRESENCE);
+	}
 
-		});
+	Object extract(FieldPath path, Object payload) {
+		List<Object> matches = accumulate(path, payload, VALUES);
 		if (matches.isEmpty()) {
 			throw new FieldDoesNotExistException(path);
 		}
@@ -65,163 +132,521 @@ final class FieldProcessor {
 		}
 	}
 
-	void remove(final FieldPath path, Object payload) {
-		traverse(new ProcessingContext(payload, path), new MatchCallback() {
+	/**
+	 * Accumulates a result from the value of each field in the {@code payload} that is
+	 * identified by the given {@code path}. Processing stops as soon as the accumulator
+	 * reports that its result is {@link ValueAccumulator#isComplete(Object) complete}.
+	 *
+	 * @param <T> the type of the result
+	 * @param path the path of the fields
+	 * @param payload the payload
+	 * @param accumulator the accumulator
+	 * @return the accumulated result
+	 */
+	<T> T accumulate(FieldPath path, Object payload, ValueAccumulator<T> accumulator) {
+		return traverse(new ProcessingContext(payload, path), accumulator,
+				accumulator.initialResult());
+	}
 
-			@Override
-			public void foundMatch(Match match) {
-				match.remove();
-			}
+	void remove(FieldPath path, Object payload) {
+		remove(Collections.singletonList(path), payload);
+	}
 
-		});
+	/**
+	 * Removes the fields identified by the given {@code paths} from the given
+	 * {@code payload}. The payload is traversed once, matching every path as it goes, and
+	 * an object or array that is left empty by the removal is itself removed. As every
+	 * path is matched against the payload as it was before any fields were removed, the
+	 * meaning of any indexed paths is unaffected by the removal of other fields.
+	 *
+	 * @param paths the paths of the fields to remove
+	 * @param payload the payload from which the fields are removed
+	 * @return the paths that identified at least one field
+	 */
+	Set<FieldPath> remove(List<FieldPath> paths, Object payload) {
+		List<Cursor> cursors = new ArrayList<Cursor>();
+		for (FieldPath path : paths) {
+			addCursor(cursors, path, 0);
+		}
+		Set<FieldPath> matchedPaths = Collections
+				.newSetFromMap(new ConcurrentHashMap<FieldPath, Boolean>());
+		removeMatches(payload, cursors, matchedPaths);
+		return matchedPaths;
 	}
 
-	private void traverse(ProcessingContext context, MatchCallback matchCallback) {
-		final String segment = context.getSegment();
-		if (FieldPath.isArraySegment(segment)) {
+	private <T> T traverse(ProcessingContext context, ValueAccumulator<T> accumulator,
+			T result) {
+		if (context.isRecursiveDescentSegment()) {
+			return handleRecursiveDescent(context, accumulator, result);
+		}
+		if (context.isArraySegment()) {
 			if (context.getPayload() instanceof List) {
-				handleListPayload(context, matchCallback);
+				if (context.getArrayIndex() < 0) {
+					return handleListPayload(context, accumulator, result);
+				}
+				return handleIndexedListPayload(context, accumulator, result);
+			}
+		}
+		else if (context.getPayload() instanceof Map) {
+			if (context.isWildcardKeySegment()) {
+				return handleWildcardMapPayload(context, accumulator, result);
+			}
+			if (((Map<?, ?>) context.getPayload()).containsKey(context.getSegment())) {
+				return handleMapPayload(context, accumulator, result);
 			}
 		}
-		else if (context.getPayload() instanceof Map
-				&& ((Map<?, ?>) context.getPayload()).containsKey(segment)) {
-			handleMapPayload(context, matchCallback);
+		return result;
+	}
+
+	private <T> T handleRecursiveDescent(ProcessingContext context,
+			ValueAccumulator<T> accumulator, T result) {
+		result = traverse(context.descend(context.getPayload()), accumulator, result);
+		Object payload = context.getPayload();
+		Iterable<?> children = payload instanceof Map ? ((Map<?, ?>) payload).values()
+				: payload instanceof List ? (List<?>) payload : Collections.emptyList();
+		for (Object child : children) {
+			if (accumulator.isComplete(result)) {
+				return result;
+			}
+			if (child instanceof Map || child instanceof List) {
+				result = traverse(context.withPayload(child), accumulator, result);
+			}
+		}
+		return result;
+	}
+
+	private <T> T handleListPayload(ProcessingContext context,
+			ValueAccumulator<T> accumulator, T result) {
+		List<?> list = context.getPayload();
+		if (list.size() > this.parallelTraversalThreshold && list instanceof RandomAccess) {
+			int chunkSize = chunkSize(list);
+			return accumulator.combine(result, invoke(new ListItemsTask<T>(context, list,
+					0, list.size(), chunkSize, accumulator)));
+		}
+		for (Object item : list) {
+			result = handleListItem(context, item, accumulator, result);
+			if (accumulator.isComplete(result)) {
+				return result;
+			}
 		}
+		return result;
 	}
 
-	private void handleListPayload(ProcessingContext context, MatchCallback matchCallback) {
+	private <T> T handleIndexedListPayload(ProcessingContext context,
+			ValueAccumulator<T> accumulator, T result) {
 		List<?> list = context.getPayload();
-		final Iterator<?> items = list.iterator();
+		int index = context.getArrayIndex();
+		if (index < list.size()) {
+			return handleListItem(context, list.get(index), accumulator, result);
+		}
+		return result;
+	}
+
+	private <T> T handleListItem(ProcessingContext context, Object item,
+			ValueAccumulator<T> accumulator, T result) {
 		if (context.isLeaf()) {
-			while (items.hasNext()) {
-				Object item = items.next();
-				matchCallback.foundMatch(new ListMatch(items, list, item, context
-						.getParentMatch()));
+			return accumulator.accumulate(result, item);
+		}
+		return traverse(context.descend(item), accumulator, result);
+	}
+
+	private <T> T handleMapPayload(ProcessingContext context,
+			ValueAccumulator<T> accumulator, T result) {
+		Map<?, ?> map = context.getPayload();
+		return handleMapEntry(context, map.get(context.getSegment()), accumulator,
+				result);
+	}
+
+	private <T> T handleWildcardMapPayload(ProcessingContext context,
+			ValueAccumulator<T> accumulator, T result) {
+		Map<?, ?> map = context.getPayload();
+		for (Object value : map.values()) {
+			result = handleMapEntry(context, value, accumulator, result);
+			if (accumulator.isComplete(result)) {
+				return result;
+			}
+		}
+		return result;
+	}
+
+	private <T> T handleMapEntry(ProcessingContext context, Object value,
+			ValueAccumulator<T> accumulator, T result) {
+		if (context.isLeaf()) {
+			return accumulator.accumulate(result, value);
+		}
+		return traverse(context.descend(value), accumulator, result);
+	}
+
+	private static void addCursor(List<Cursor> cursors, FieldPath path, int position) {
+		cursors.add(new Cursor(path, position));
+		if (path.isRecursiveDescentSegment(position)) {
+			// The segments that follow a recursive descent may also match at the level
+			// at which it occurs
+			cursors.add(new Cursor(path, position + 1));
+		}
+	}
+
+	/**
+	 * Removes the children of the given {@code node} that are matched by the given
+	 * {@code cursors}.
+	 *
+	 * @return {@code true} if the node was emptied and should itself be removed
+	 */
+	private boolean removeMatches(Object node, List<Cursor> cursors,
+			Set<FieldPath> matchedPaths) {
+		if (node instanceof Map) {
+			return removeMatchingEntries((Map<?, ?>) node, cursors, matchedPaths);
+		}
+		if (node instanceof List) {
+			return removeMatchingItems((List<?>) node, cursors, matchedPaths);
+		}
+		return false;
+	}
+
+	private boolean removeMatchingEntries(Map<?, ?> map, List<Cursor> cursors,
+			Set<FieldPath> matchedPaths) {
+		if (map.isEmpty()) {
+			return false;
+		}
+		Iterator<? extends Entry<?, ?>> entries = map.entrySet().iterator();
+		while (entries.hasNext()) {
+			Entry<?, ?> entry = entries.next();
+			if (removeMatchingChild(entry.getValue(), entry.getKey().toString(), -1,
+					cursors, matchedPaths)) {
+				entries.remove();
 			}
 		}
+		return map.isEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean removeMatchingItems(List<?> list, List<Cursor> cursors,
+			Set<FieldPath> matchedPaths) {
+		if (list.isEmpty()) {
+			return false;
+		}
+		if (list.size() > this.parallelTraversalThreshold && list instanceof RandomAccess) {
+			invoke(new RemovalTask(list, 0, list.size(), chunkSize(list), cursors,
+					matchedPaths));
+		}
 		else {
+			ListIterator<Object> items = ((List<Object>) list).listIterator();
 			while (items.hasNext()) {
-				Object item = items.next();
-				traverse(context.descend(item, new ListMatch(items, list, item,
-						context.parent)), matchCallback);
+				int index = items.nextIndex();
+				if (removeMatchingChild(items.next(), null, index, cursors, matchedPaths)) {
+					items.set(REMOVED);
+				}
 			}
 		}
+		purgeRemovedItems(list);
+		return list.isEmpty();
 	}
 
-	private void handleMapPayload(ProcessingContext context, MatchCallback matchCallback) {
-		Map<?, ?> map = context.getPayload();
-		Object item = map.get(context.getSegment());
-		MapMatch mapMatch = new MapMatch(item, map, context.getSegment(),
-				context.getParentMatch());
-		if (context.isLeaf()) {
-			matchCallback.foundMatch(mapMatch);
+	/**
+	 * Removes the given {@code child}, identified by its {@code key} in an object or its
+	 * {@code index} in an array, if it is matched by any of the given {@code cursors}, and
+	 * then removes any of its own children that are matched.
+	 *
+	 * @return {@code true} if the child should be removed
+	 */
+	private boolean removeMatchingChild(Object child, String key, int index,
+			List<Cursor> cursors, Set<FieldPath> matchedPaths) {
+		boolean matched = false;
+		List<Cursor> childCursors = null;
+		for (Cursor cursor : cursors) {
+			if (cursor.isRecursiveDescent()) {
+				if (child instanceof Map || child instanceof List) {
+					childCursors = childCursors != null ? childCursors
+							: new ArrayList<Cursor>();
+					addCursor(childCursors, cursor.path, cursor.position);
+				}
+			}
+			else if (key != null ? cursor.matchesKey(key) : cursor.matchesItem(index)) {
+				if (cursor.isLeaf()) {
+					matchedPaths.add(cursor.path);
+					matched = true;
+				}
+				else {
+					childCursors = childCursors != null ? childCursors
+							: new ArrayList<Cursor>();
+					addCursor(childCursors, cursor.path, cursor.position + 1);
+				}
+			}
+		}
+		// A matched child is still processed so that every path that matches beneath it
+		// is recorded
+		boolean emptied = childCursors != null
+				&& removeMatches(child, childCursors, matchedPaths);
+		return matched || emptied;
+	}
+
+	private static int chunkSize(List<?> list) {
+		return Math.max(1, list.size() / (FORK_JOIN_POOL.getParallelism() * 4));
+	}
+
+	private static <T> T invoke(ForkJoinTask<T> task) {
+		if (ForkJoinTask.inForkJoinPool()) {
+			return task.invoke();
+		}
+		return FORK_JOIN_POOL.invoke(task);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void purgeRemovedItems(List<?> list) {
+		if (list instanceof RandomAccess) {
+			List<Object> items = (List<Object>) list;
+			int retained = 0;
+			for (int i = 0; i < items.size(); i++) {
+				Object item = items.get(i);
+				if (item != REMOVED) {
+					items.set(retained++, item);
+				}
+			}
+			items.subList(retained, items.size()).clear();
 		}
 		else {
-			traverse(context.descend(item, mapMatch), matchCallback);
+			Iterator<?> items = list.iterator();
+			while (items.hasNext()) {
+				if (items.next() == REMOVED) {
+					items.remove();
+				}
+			}
 		}
 	}
 
-	private static final class MapMatch implements Match {
+	/**
+	 * Accumulates a result from the values of the fields identified by a
+	 * {@link FieldPath}. When the items of an array are processed in parallel, each
+	 * thread accumulates its own result, starting from an {@link #initialResult() initial
+	 * result}, and the results are then {@link #combine(Object, Object) combined}. An
+	 * accumulator should not, therefore, modify any state other than the results that it
+	 * creates.
+	 *
+	 * @param <T> the type of the result
+	 * @see FieldProcessor#accumulate(FieldPath, Object, ValueAccumulator)
+	 */
+	interface ValueAccumulator<T> {
+
+		/**
+		 * Returns the result before any values have been accumulated.
+		 *
+		 * @return the initial result
+		 */
+		T initialResult();
+
+		/**
+		 * Accumulates the given {@code value} into the given {@code result}.
+		 *
+		 * @param result the result
+		 * @param value the value of a field, may be {@code null}
+		 * @return the updated result
+		 */
+		T accumulate(T result, Object value);
+
+		/**
+		 * Combines two results that were accumulated independently. The values
+		 * accumulated into the {@code first} result precede those accumulated into the
+		 * {@code second}.
+		 *
+		 * @param first the first result
+		 * @param second the second result
+		 * @return the combined result
+		 */
+		T combine(T first, T second);
+
+		/**
+		 * Whether the given {@code result} is complete such that accumulating further
+		 * values would not change it.
+		 *
+		 * @param result the result
+		 * @return {@code true} if the result is complete, otherwise {@code false}
+		 */
+		boolean isComplete(T result);
 
-		private final Object item;
+	}
 
-		private final Map<?, ?> map;
+	@SuppressWarnings("serial")
+	private final class ListItemsTask<T> extends RecursiveTask<T> {
 
-		private final String segment;
+		private final ProcessingContext context;
+
+		private final List<?> list;
 
-		private final Match parent;
+		private final int from;
 
-		private MapMatch(Object item, Map<?, ?> map, String segment, Match parent) {
-			this.item = item;
-			this.map = map;
-			this.segment = segment;
-			this.parent = parent;
+		private final int to;
+
+		private final int chunkSize;
+
+		private final ValueAccumulator<T> accumulator;
+
+		private ListItemsTask(ProcessingContext context, List<?> list, int from, int to,
+				int chunkSize, ValueAccumulator<T> accumulator) {
+			this.context = context;
+			this.list = list;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+			this.accumulator = accumulator;
 		}
 
 		@Override
-		public Object getValue() {
-			return this.item;
+		protected T compute() {
+			if (this.to - this.from <= this.chunkSize) {
+				return processItems();
+			}
+			int middle = (this.from + this.to) >>> 1;
+			ListItemsTask<T> second = new ListItemsTask<T>(this.context, this.list,
+					middle, this.to, this.chunkSize, this.accumulator);
+			second.fork();
+			T first = new ListItemsTask<T>(this.context, this.list, this.from, middle,
+					this.chunkSize, this.accumulator).compute();
+			if (this.accumulator.isComplete(first)) {
+				second.cancel(false);
+				return first;
+			}
+			return this.accumulator.combine(first, second.join());
 		}
 
-		@Override
-		public void remove() {
-			this.map.remove(this.segment);
-			if (this.map.isEmpty() && this.parent != null) {
-				this.parent.remove();
+		private T processItems() {
+			T result = this.accumulator.initialResult();
+			for (int index = this.from; index < this.to; index++) {
+				result = handleListItem(this.context, this.list.get(index),
+						this.accumulator, result);
+				if (this.accumulator.isComplete(result)) {
+					return result;
+				}
 			}
+			return result;
 		}
 
 	}
 
-	private static final class ListMatch implements Match {
-
-		private final Iterator<?> items;
+	/**
+	 * Removes the matching items in a range of a list. Each item is replaced with a
+	 * placeholder rather than being removed so that the list's structure is not modified
+	 * while it is being processed in parallel.
+	 */
+	@SuppressWarnings("serial")
+	private final class RemovalTask extends RecursiveAction {
 
 		private final List<?> list;
 
-		private final Object item;
+		private final int from;
 
-		private final Match parent;
+		private final int to;
 
-		private ListMatch(Iterator<?> items, List<?> list, Object item, Match parent) {
-			this.items = items;
-			this.list = list;
-			this.item = item;
-			this.parent = parent;
-		}
+		private final int chunkSize;
 
-		@Override
-		public Object getValue() {
-			return this.item;
+		private final List<Cursor> cursors;
+
+		private final Set<FieldPath> matchedPaths;
+
+		private RemovalTask(List<?> list, int from, int to, int chunkSize,
+				List<Cursor> cursors, Set<FieldPath> matchedPaths) {
+			this.list = list;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+			this.cursors = cursors;
+			this.matchedPaths = matchedPaths;
 		}
 
 		@Override
-		public void remove() {
-			this.items.remove();
-			if (this.list.isEmpty() && this.parent != null) {
-				this.parent.remove();
+		@SuppressWarnings("unchecked")
+		protected void compute() {
+			if (this.to - this.from <= this.chunkSize) {
+				for (int index = this.from; index < this.to; index++) {
+					if (removeMatchingChild(this.list.get(index), null, index,
+							this.cursors, this.matchedPaths)) {
+						((List<Object>) this.list).set(index, REMOVED);
+					}
+				}
+				return;
 			}
+			int middle = (this.from + this.to) >>> 1;
+			invokeAll(new RemovalTask(this.list, this.from, middle, this.chunkSize,
+					this.cursors, this.matchedPaths), new RemovalTask(this.list, middle,
+					this.to, this.chunkSize, this.cursors, this.matchedPaths));
 		}
 
 	}
 
-	private interface MatchCallback {
+	/**
+	 * The position reached in a path while removing fields. A cursor belongs to a node in
+	 * the payload and identifies the segment that the node's children must match.
+	 */
+	private static final class Cursor {
 
-		void foundMatch(Match match);
+		private final FieldPath path;
 
-	}
+		private final int position;
+
+		private Cursor(FieldPath path, int position) {
+			this.path = path;
+			this.position = position;
+		}
+
+		private boolean isRecursiveDescent() {
+			return this.path.isRecursiveDescentSegment(this.position);
+		}
 
-	private interface Match {
+		private boolean isLeaf() {
+			return this.position == this.path.getSegments().size() - 1;
+		}
 
-		Object getValue();
+		private boolean matchesKey(String key) {
+			return !this.path.isArraySegment(this.position)
+					&& (this.path.isWildcardKeySegment(this.position) || key
+							.equals(this.path.getSegments().get(this.position)));
+		}
+
+		private boolean matchesItem(int index) {
+			if (!this.path.isArraySegment(this.position)) {
+				return false;
+			}
+			int arrayIndex = this.path.getArrayIndex(this.position);
+			return arrayIndex < 0 || arrayIndex == index;
+		}
 
-		void remove();
 	}
 
 	private static final class ProcessingContext {
 
 		private final Object payload;
 
-		private final List<String> segments;
-
-		private final Match parent;
-
 		private final FieldPath path;
 
+		private final int position;
+
 		private ProcessingContext(Object payload, FieldPath path) {
-			this(payload, path, null, null);
+			this(payload, path, 0);
 		}
 
-		private ProcessingContext(Object payload, FieldPath path, List<String> segments,
-				Match parent) {
+		private ProcessingContext(Object payload, FieldPath path, int position) {
 			this.payload = payload;
 			this.path = path;
-			this.segments = segments == null ? path.getSegments() : segments;
-			this.parent = parent;
+			this.position = position;
 		}
 
 		private String getSegment() {
-			return this.segments.get(0);
+			return this.path.getSegments().get(this.position);
+		}
+
+		private boolean isArraySegment() {
+			return this.path.isArraySegment(this.position);
+		}
+
+		private boolean isWildcardKeySegment() {
+			return this.path.isWildcardKeySegment(this.position);
+		}
+
+		private boolean isRecursiveDescentSegment() {
+			return this.path.isRecursiveDescentSegment(this.position);
+		}
+
+		private int getArrayIndex() {
+			return this.path.getArrayIndex(this.position);
 		}
 
 		@SuppressWarnings("unchecked")
@@ -230,17 +655,17 @@ final class FieldProcessor {
 		}
 
 		private boolean isLeaf() {
-			return this.segments.size() == 1;
+			return this.position == this.path.getSegments().size() - 1;
 		}
 
-		private Match getParentMatch() {
-			return this.parent;
+		private ProcessingContext descend(Object payload) {
+			return new ProcessingContext(payload, this.path, this.position + 1);
 		}
 
-		private ProcessingContext descend(Object payload, Match match) {
-			return new ProcessingContext(payload, this.path, this.segments.subList(1,
-					this.segments.size()), match);
+		private ProcessingContext withPayload(Object payload) {
+			return new ProcessingContext(payload, this.path, this.position);
 		}
+
 	}
 
 }
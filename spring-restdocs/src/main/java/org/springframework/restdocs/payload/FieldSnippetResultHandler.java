@@ -18,17 +18,20 @@ package org.springframework.restdocs.payload;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.Collection;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.springframework.http.MediaType;
+import org.springframework.restdocs.config.PayloadConfigurer;
+import org.springframework.restdocs.config.RestDocumentationContext;
 import org.springframework.restdocs.snippet.DocumentationWriter;
 import org.springframework.restdocs.snippet.DocumentationWriter.TableAction;
 import org.springframework.restdocs.snippet.DocumentationWriter.TableWriter;
 import org.springframework.restdocs.snippet.SnippetWritingResultHandler;
 import org.springframework.test.web.servlet.MvcResult;
-import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -41,77 +44,230 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public abstract class FieldSnippetResultHandler extends SnippetWritingResultHandler {
 
-	private final Map<String, FieldDescriptor> descriptorsByPath = new LinkedHashMap<String, FieldDescriptor>();
+	private static final PayloadShapeCache VALIDATED_SHAPES = new PayloadShapeCache(256);
 
-	private final FieldTypeResolver fieldTypeResolver = new FieldTypeResolver();
+	private final ObjectMapper objectMapper = new ObjectMapper();
 
-	private final FieldValidator fieldValidator = new FieldValidator();
+	private final XmlFieldProcessor xmlFieldProcessor = new XmlFieldProcessor();
 
-	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final FieldDescriptors fieldDescriptors;
 
-	private List<FieldDescriptor> fieldDescriptors;
+	private final String outputDir;
 
-	FieldSnippetResultHandler(String outputDir, String filename,
-			List<FieldDescriptor> descriptors) {
-		super(outputDir, filename + "-fields");
-		for (FieldDescriptor descriptor : descriptors) {
-			Assert.notNull(descriptor.getPath());
-			Assert.hasText(descriptor.getDescription());
-			this.descriptorsByPath.put(descriptor.getPath(), descriptor);
-		}
+	private final String type;
+
+	private PayloadBudget budget;
+
+	FieldSnippetResultHandler(String outputDir, String type,
+			FieldDescriptors descriptors) {
+		super(outputDir, type + "-fields");
 		this.fieldDescriptors = descriptors;
+		this.outputDir = outputDir;
+		this.type = type;
+	}
+
+	/**
+	 * Checks the size and complexity of the payload against the given {@code budget},
+	 * failing if the payload exceeds it. The payload's metrics are documented in an
+	 * additional snippet. The budget takes precedence over any budget that has been
+	 * configured using {@link PayloadConfigurer}.
+	 * 
+	 * @param budget the budget
+	 * @return {@code this}
+	 * @see PayloadDocumentation#payloadBudget()
+	 */
+	public FieldSnippetResultHandler withBudget(PayloadBudget budget) {
+		this.budget = budget;
+		return this;
 	}
 
 	@Override
 	protected void handle(MvcResult result, DocumentationWriter writer)
 			throws IOException {
-
-		this.fieldValidator.validate(getPayloadReader(result), this.fieldDescriptors);
-
-		final Object payload = extractPayload(result);
+		RestDocumentationContext context = RestDocumentationContext.currentContext();
+		PayloadBudget budget = this.budget != null ? this.budget
+				: getConfiguredBudget(context);
+		PayloadMetrics metrics = null;
+		final Map<FieldDescriptor, FieldType> fieldTypes;
+		if (isXml(getContentType(result))) {
+			fieldTypes = this.xmlFieldProcessor.process(getPayloadReader(result),
+					this.fieldDescriptors);
+			if (budget != null) {
+				metrics = PayloadMetrics.sizeOnly(getPayloadSize(result));
+			}
+		}
+		else {
+			Object payload = this.objectMapper.readValue(getPayloadReader(result),
+					Object.class);
+			PayloadShape shape = PayloadShape.of(payload);
+			if (budget != null) {
+				metrics = PayloadMetrics.measure(shape, getPayloadSize(result));
+			}
+			fieldTypes = processJson(payload, shape, context);
+		}
+		if (budget != null) {
+			budget.check(metrics, this.type);
+		}
+		recordCoverage(result, this.fieldDescriptors.getPaths());
 
 		writer.table(new TableAction() {
 
 			@Override
 			public void perform(TableWriter tableWriter) throws IOException {
 				tableWriter.headers("Path", "Type", "Description");
-				for (Entry<String, FieldDescriptor> entry : FieldSnippetResultHandler.this.descriptorsByPath
-						.entrySet()) {
-					FieldDescriptor descriptor = entry.getValue();
-					FieldType type = getFieldType(descriptor, payload);
-					tableWriter.row(entry.getKey().toString(), type.toString(), entry
-							.getValue().getDescription());
+				for (Entry<FieldDescriptor, FieldType> entry : fieldTypes.entrySet()) {
+					FieldDescriptor descriptor = entry.getKey();
+					tableWriter.row(descriptor.getPath(), getFieldType(descriptor,
+							entry.getValue()).toString(), descriptor.getDescription());
 				}
 
 			}
 
-			private FieldType getFieldType(FieldDescriptor descriptor, Object payload) {
-				if (descriptor.getType() != null) {
-					return descriptor.getType();
-				}
-				else {
-					try {
-						return FieldSnippetResultHandler.this.fieldTypeResolver
-								.resolveFieldType(descriptor.getPath(), payload);
-					}
-					catch (FieldDoesNotExistException ex) {
-						String message = "Cannot determine the type of the field '"
-								+ descriptor.getPath() + "' as it is not present in the"
-								+ " payload. Please provide a type using"
-								+ " FieldDescriptor.type(FieldType).";
-						throw new FieldTypeRequiredException(message);
-					}
+			private FieldType getFieldType(FieldDescriptor descriptor, FieldType type) {
+				if (type == null) {
+					String message = "Cannot determine the type of the field '"
+							+ descriptor.getPath() + "' as it is not present in the"
+							+ " payload. Please provide a type using"
+							+ " FieldDescriptor.type(FieldType).";
+					throw new FieldTypeRequiredException(message);
 				}
+				return type;
 			}
 
 		});
 
+		if (budget != null) {
+			new MetricsSnippetResultHandler(this.outputDir, this.type, metrics, budget)
+					.handle(result);
+		}
 	}
 
-	private Object extractPayload(MvcResult result) throws IOException {
-		return this.objectMapper.readValue(getPayloadReader(result), Object.class);
+	private Map<FieldDescriptor, FieldType> processJson(Object payload,
+			PayloadShape shape, RestDocumentationContext context) {
+		FieldProcessor fieldProcessor = createFieldProcessor(context);
+		// A payload with the same shape as one that has already been validated against
+		// equivalent descriptors would produce the same outcome. Capturing the shape is
+		// itself a walk of the payload, shared with measuring it, but, on a hit, it
+		// replaces resolving each field's type, removing the documented fields and
+		// walking what remains
+		Map<FieldDescriptor, FieldType> fieldTypes = VALIDATED_SHAPES.get(
+				this.fieldDescriptors, shape);
+		if (fieldTypes != null) {
+			return fieldTypes;
+		}
+		fieldTypes = resolveFieldTypes(new FieldTypeResolver(fieldProcessor), payload);
+		new FieldValidator(fieldProcessor, context != null
+				&& context.isUndocumentedPayloadIncludedInFailures()).validate(payload,
+				this.fieldDescriptors);
+		VALIDATED_SHAPES.put(this.fieldDescriptors, shape, fieldTypes);
+		return fieldTypes;
+	}
+
+	private boolean isXml(String contentType) {
+		if (!StringUtils.hasText(contentType)) {
+			return false;
+		}
+		MediaType mediaType = MediaType.parseMediaType(contentType);
+		return mediaType.getSubtype().equals("xml")
+				|| mediaType.getSubtype().endsWith("+xml");
+	}
+
+	/**
+	 * Resolves the type of each field. As validation modifies the payload, this is done
+	 * before the payload is validated, allowing a single parsed payload to be used for
+	 * both. Fields whose type cannot be resolved are mapped to {@code null}.
+	 */
+	private Map<FieldDescriptor, FieldType> resolveFieldTypes(
+			FieldTypeResolver fieldTypeResolver, Object payload) {
+		Map<FieldDescriptor, FieldType> fieldTypes = new LinkedHashMap<FieldDescriptor, FieldType>();
+		for (FieldDescriptor descriptor : this.fieldDescriptors.getDescriptors()) {
+			FieldType type = descriptor.getType();
+			if (type == null) {
+				try {
+					type = fieldTypeResolver.resolveFieldType(
+							this.fieldDescriptors.getFieldPath(descriptor), payload);
+				}
+				catch (FieldDoesNotExistException ex) {
+					// Reported when the snippet is written, if validation succeeds
+				}
+			}
+			fieldTypes.put(descriptor, type);
+		}
+		return fieldTypes;
+	}
+
+	private FieldProcessor createFieldProcessor(RestDocumentationContext context) {
+		if (context == null) {
+			return new FieldProcessor();
+		}
+		return new FieldProcessor(context.getParallelTraversalThreshold());
 	}
 
 	protected abstract Reader getPayloadReader(MvcResult result) throws IOException;
 
-}
\ No newline at end of file
+	abstract int getPayloadSize(MvcResult result) throws IOException;
+
+	/**
+	 * Returns the budget that has been configured for all payloads of this handler's
+	 * type, or {@code null} if there is no such budget.
+	 */
+	PayloadBudget getConfiguredBudget(RestDocumentationContext context) {
+		return null;
+	}
+
+	abstract String getContentType(MvcResult result);
+
+	abstract void recordCoverage(MvcResult result, Collection<String> paths);
+
+	/**
+	 * Writes a snippet describing the metrics of a payload that has been checked against
+	 * a budget.
+	 */
+	private static final class MetricsSnippetResultHandler extends
+			SnippetWritingResultHandler {
+
+		private final PayloadMetrics metrics;
+
+		private final PayloadBudget budget;
+
+		private MetricsSnippetResultHandler(String outputDir, String type,
+				PayloadMetrics metrics, PayloadBudget budget) {
+			super(outputDir, type + "-metrics");
+			this.metrics = metrics;
+			this.budget = budget;
+		}
+
+		@Override
+		protected void handle(MvcResult result, DocumentationWriter writer)
+				throws IOException {
+			writer.table(new TableAction() {
+
+				@Override
+				public void perform(TableWriter tableWriter) throws IOException {
+					PayloadMetrics metrics = MetricsSnippetResultHandler.this.metrics;
+					PayloadBudget budget = MetricsSnippetResultHandler.this.budget;
+					tableWriter.headers("Metric", "Value", "Budget");
+					row(tableWriter, "Size (bytes)", metrics.getSize(),
+							budget.getMaxSize());
+					row(tableWriter, "Depth", metrics.getDepth(), budget.getMaxDepth());
+					row(tableWriter, "Fields", metrics.getFields(),
+							budget.getMaxFields());
+					row(tableWriter, "Largest array", metrics.getMaxArrayLength(),
+							budget.getMaxArrayLength());
+				}
+
+				private void row(TableWriter tableWriter, String metric, int value,
+						int limit) {
+					if (value != PayloadMetrics.NOT_MEASURED) {
+						tableWriter.row(metric, Integer.toString(value),
+								limit == PayloadBudget.UNLIMITED ? "None" : Integer
+										.toString(limit));
+					}
+				}
+
+			});
+		}
+
+	}
+
+}
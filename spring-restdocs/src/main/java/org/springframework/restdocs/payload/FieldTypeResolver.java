@@ -26,28 +26,32 @@ import java.util.Map;
  */
 class FieldTypeResolver {
 
-	private final FieldProcessor fieldProcessor = new FieldProcessor();
+	private static final CommonTypeAccumulator COMMON_TYPE = new CommonTypeAccumulator();
+
+	private final FieldProcessor fieldProcessor;
+
+	FieldTypeResolver() {
+		this(new FieldProcessor());
+	}
+
+	FieldTypeResolver(FieldProcessor fieldProcessor) {
+		this.fieldProcessor = fieldProcessor;
+	}
 
 	FieldType resolveFieldType(String path, Object payload) {
-		FieldPath fieldPath = FieldPath.compile(path);
-		Object field = this.fieldProcessor.extract(fieldPath, payload);
-		if (field instanceof Collection && !fieldPath.isPrecise()) {
-			FieldType commonType = null;
-			for (Object item : (Collection<?>) field) {
-				FieldType fieldType = determineFieldType(item);
-				if (commonType == null) {
-					commonType = fieldType;
-				}
-				else if (fieldType != commonType) {
-					return FieldType.VARIES;
-				}
-			}
-			return commonType;
+		return resolveFieldType(FieldPath.compile(path), payload);
+	}
+
+	FieldType resolveFieldType(FieldPath fieldPath, Object payload) {
+		FieldType commonType = this.fieldProcessor.accumulate(fieldPath, payload,
+				COMMON_TYPE);
+		if (commonType == null) {
+			throw new FieldDoesNotExistException(fieldPath);
 		}
-		return determineFieldType(this.fieldProcessor.extract(fieldPath, payload));
+		return commonType;
 	}
 
-	private FieldType determineFieldType(Object fieldValue) {
+	private static FieldType determineFieldType(Object fieldValue) {
 		if (fieldValue == null) {
 			return FieldType.NULL;
 		}
@@ -65,4 +69,39 @@ class FieldTypeResolver {
 		}
 		return FieldType.NUMBER;
 	}
+
+	/**
+	 * Determines the type that is common to every value, completing as soon as a second
+	 * type is found as the type must then be {@link FieldType#VARIES}.
+	 */
+	private static final class CommonTypeAccumulator implements
+			FieldProcessor.ValueAccumulator<FieldType> {
+
+		@Override
+		public FieldType initialResult() {
+			return null;
+		}
+
+		@Override
+		public FieldType accumulate(FieldType commonType, Object value) {
+			return combine(commonType, determineFieldType(value));
+		}
+
+		@Override
+		public FieldType combine(FieldType first, FieldType second) {
+			if (first == null) {
+				return second;
+			}
+			if (second == null || first == second) {
+				return first;
+			}
+			return FieldType.VARIES;
+		}
+
+		@Override
+		public boolean isComplete(FieldType commonType) {
+			return commonType == FieldType.VARIES;
+		}
+
+	}
 }
@@ -20,12 +20,11 @@ import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import org.springframework.restdocs.snippet.SnippetGenerationException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 
 /**
  * {@code FieldValidator} is used to validate a payload's fields against the user-provided
@@ -35,23 +34,53 @@ import com.fasterxml.jackson.databind.SerializationFeature;
  */
 class FieldValidator {
 
-	private final FieldProcessor fieldProcessor = new FieldProcessor();
+	private final FieldProcessor fieldProcessor;
 
-	private final ObjectMapper objectMapper = new ObjectMapper()
-			.enable(SerializationFeature.INDENT_OUTPUT);
+	private final boolean includeUndocumentedPayload;
 
-	void validate(Reader payloadReader, List<FieldDescriptor> fieldDescriptors)
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	FieldValidator() {
+		this(new FieldProcessor(), false);
+	}
+
+	FieldValidator(FieldProcessor fieldProcessor, boolean includeUndocumentedPayload) {
+		this.fieldProcessor = fieldProcessor;
+		this.includeUndocumentedPayload = includeUndocumentedPayload;
+	}
+
+	void validate(Reader payloadReader, FieldDescriptors fieldDescriptors)
 			throws IOException {
-		Object payload = this.objectMapper.readValue(payloadReader, Object.class);
-		List<String> missingFields = findMissingFields(payload, fieldDescriptors);
-		Object undocumentedPayload = findUndocumentedFields(payload, fieldDescriptors);
+		validate(this.objectMapper.readValue(payloadReader, Object.class),
+				fieldDescriptors);
+	}
+
+	/**
+	 * Validates the given parsed {@code payload}. Validation removes the documented
+	 * fields from the payload so it should not be used once it has been validated. The
+	 * payload is traversed once, finding the fields that are missing and removing those
+	 * that are documented, however many fields have been described.
+	 * 
+	 * @param payload the payload
+	 * @param fieldDescriptors the descriptors of the payload's fields
+	 */
+	void validate(Object payload, FieldDescriptors fieldDescriptors) {
+		Set<FieldPath> presentPaths = this.fieldProcessor.remove(
+				fieldDescriptors.getFieldPaths(), payload);
+		List<String> missingFields = findMissingFields(presentPaths, fieldDescriptors);
+		UndocumentedFieldsReport undocumentedFields = UndocumentedFieldsReport
+				.create(payload);
 
-		if (!missingFields.isEmpty() || !isEmpty(undocumentedPayload)) {
+		if (!missingFields.isEmpty() || !undocumentedFields.isEmpty()) {
 			String message = "";
-			if (!isEmpty(undocumentedPayload)) {
+			if (!undocumentedFields.isEmpty()) {
 				message += String.format(
 						"The following parts of the payload were not documented:%n%s",
-						this.objectMapper.writeValueAsString(undocumentedPayload));
+						undocumentedFields);
+				if (this.includeUndocumentedPayload) {
+					message += String.format("%nUndocumented payload:%n%s",
+							undocumentedFields.getUndocumentedPayload());
+				}
 			}
 			if (!missingFields.isEmpty()) {
 				if (message.length() > 0) {
@@ -64,21 +93,14 @@ class FieldValidator {
 		}
 	}
 
-	private boolean isEmpty(Object object) {
-		if (object instanceof Map) {
-			return ((Map<?, ?>) object).isEmpty();
-		}
-		return ((List<?>) object).isEmpty();
-	}
-
-	private List<String> findMissingFields(Object payload,
-			List<FieldDescriptor> fieldDescriptors) {
+	private List<String> findMissingFields(Set<FieldPath> presentPaths,
+			FieldDescriptors fieldDescriptors) {
 		List<String> missingFields = new ArrayList<String>();
 
-		for (FieldDescriptor fieldDescriptor : fieldDescriptors) {
+		for (FieldDescriptor fieldDescriptor : fieldDescriptors.getDescriptors()) {
 			if (!fieldDescriptor.isOptional()
-					&& !this.fieldProcessor.hasField(
-							FieldPath.compile(fieldDescriptor.getPath()), payload)) {
+					&& !presentPaths.contains(fieldDescriptors
+							.getFieldPath(fieldDescriptor))) {
 				missingFields.add(fieldDescriptor.getPath());
 			}
 		}
@@ -86,13 +108,4 @@ class FieldValidator {
 		return missingFields;
 	}
 
-	private Object findUndocumentedFields(Object payload,
-			List<FieldDescriptor> fieldDescriptors) {
-		for (FieldDescriptor fieldDescriptor : fieldDescriptors) {
-			FieldPath path = FieldPath.compile(fieldDescriptor.getPath());
-			this.fieldProcessor.remove(path, payload);
-		}
-		return payload;
-	}
-
 }
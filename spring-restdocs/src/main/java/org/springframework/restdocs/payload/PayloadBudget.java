@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.payload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.restdocs.config.PayloadConfigurer;
+import org.springframework.restdocs.snippet.SnippetGenerationException;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Limits on the size and complexity of a payload. A payload whose fields are documented
+ * and that exceeds any of its budget's limits causes a failure. By default, a budget has
+ * no limits.
+ * 
+ * @author Andy Wilkinson
+ * @see PayloadDocumentation#payloadBudget()
+ * @see FieldSnippetResultHandler#withBudget(PayloadBudget)
+ * @see PayloadConfigurer#withResponseBudget(PayloadBudget)
+ */
+public class PayloadBudget {
+
+	static final int UNLIMITED = -1;
+
+	private int maxSize = UNLIMITED;
+
+	private int maxDepth = UNLIMITED;
+
+	private int maxFields = UNLIMITED;
+
+	private int maxArrayLength = UNLIMITED;
+
+	PayloadBudget() {
+
+	}
+
+	/**
+	 * Specifies the maximum size of the payload
+	 * 
+	 * @param bytes The maximum size in bytes
+	 * @return {@code this}
+	 */
+	public PayloadBudget maxSize(int bytes) {
+		this.maxSize = checkLimit(bytes);
+		return this;
+	}
+
+	/**
+	 * Specifies the maximum depth to which objects and arrays are nested in the payload.
+	 * A payload that is an object or array with no nested objects or arrays has a depth
+	 * of one.
+	 * 
+	 * @param depth The maximum depth
+	 * @return {@code this}
+	 */
+	public PayloadBudget maxDepth(int depth) {
+		this.maxDepth = checkLimit(depth);
+		return this;
+	}
+
+	/**
+	 * Specifies the maximum number of fields in the payload, including the fields of
+	 * every object that is nested in the payload or that is an item in one of its arrays
+	 * 
+	 * @param fields The maximum number of fields
+	 * @return {@code this}
+	 */
+	public PayloadBudget maxFields(int fields) {
+		this.maxFields = checkLimit(fields);
+		return this;
+	}
+
+	/**
+	 * Specifies the maximum number of items in any of the payload's arrays
+	 * 
+	 * @param items The maximum number of items
+	 * @return {@code this}
+	 */
+	public PayloadBudget maxArrayLength(int items) {
+		this.maxArrayLength = checkLimit(items);
+		return this;
+	}
+
+	private static int checkLimit(int limit) {
+		Assert.isTrue(limit >= 0, "A limit must not be negative");
+		return limit;
+	}
+
+	int getMaxSize() {
+		return this.maxSize;
+	}
+
+	int getMaxDepth() {
+		return this.maxDepth;
+	}
+
+	int getMaxFields() {
+		return this.maxFields;
+	}
+
+	int getMaxArrayLength() {
+		return this.maxArrayLength;
+	}
+
+	/**
+	 * Checks the given {@code metrics} of a payload against this budget.
+	 * 
+	 * @param metrics the metrics of the payload
+	 * @param type the type of the payload, {@code request} or {@code response}
+	 * @throws SnippetGenerationException if the payload exceeds the budget
+	 */
+	void check(PayloadMetrics metrics, String type) {
+		List<String> exceeded = new ArrayList<String>();
+		check("size", metrics.getSize(), this.maxSize, exceeded);
+		check("depth", metrics.getDepth(), this.maxDepth, exceeded);
+		check("fields", metrics.getFields(), this.maxFields, exceeded);
+		check("array length", metrics.getMaxArrayLength(), this.maxArrayLength,
+				exceeded);
+		if (!exceeded.isEmpty()) {
+			throw new SnippetGenerationException(String.format(
+					"The %s payload exceeded its budget:%n%s", type,
+					StringUtils.collectionToDelimitedString(exceeded,
+							String.format("%n"))));
+		}
+	}
+
+	private static void check(String metric, int value, int limit,
+			List<String> exceeded) {
+		if (limit != UNLIMITED && value != PayloadMetrics.NOT_MEASURED && value > limit) {
+			exceeded.add(String.format("  %s: %d (budget %d)", metric, value, limit));
+		}
+	}
+
+}
@@ -28,6 +28,12 @@ import org.springframework.restdocs.RestDocumentationResultHandler;
  */
 public abstract class PayloadDocumentation {
 
+	/**
+	 * The default size above which the items in an array are processed in parallel when
+	 * a payload's fields are documented
+	 */
+	public static final int DEFAULT_PARALLEL_TRAVERSAL_THRESHOLD = 10000;
+
 	private PayloadDocumentation() {
 
 	}
@@ -37,7 +43,8 @@ public abstract class PayloadDocumentation {
 	 * {@code path}.
 	 * <p>
 	 * The {@code path} uses '.' to descend into a child object and ' {@code []}' to
-	 * descend into an array. For example, with this JSON payload:
+	 * descend into an array. A single item in an array can be identified using its
+	 * zero-based index, for example '{@code [0]}'. For example, with this JSON payload:
 	 * 
 	 * <pre>
 	 * {
@@ -81,6 +88,10 @@ public abstract class PayloadDocumentation {
 	 * <td>An array containing the strings "one" and "two"</td>
 	 * </tr>
 	 * <tr>
+	 * <td>{@code a.b[1].c}</td>
+	 * <td>The string "two"</td>
+	 * </tr>
+	 * <tr>
 	 * <td>{@code a.b[].d}</td>
 	 * <td>The string "three"</td>
 	 * </tr>
@@ -95,6 +106,31 @@ public abstract class PayloadDocumentation {
 		return new FieldDescriptor(path);
 	}
 
+	/**
+	 * Creates an immutable {@code FieldDescriptors} from the given {@code descriptors}.
+	 * The descriptors' paths are compiled once, when the set is created, making it
+	 * suitable for documenting a payload that appears in many tests.
+	 * 
+	 * @param descriptors The field descriptors
+	 * @return the compiled set of descriptors
+	 * @see RestDocumentationResultHandler#withRequestFields(FieldDescriptors)
+	 * @see RestDocumentationResultHandler#withResponseFields(FieldDescriptors)
+	 */
+	public static FieldDescriptors fieldDescriptors(FieldDescriptor... descriptors) {
+		return new FieldDescriptors(Arrays.asList(descriptors));
+	}
+
+	/**
+	 * Creates a {@code PayloadBudget} with no limits. Limits can be added to the budget
+	 * before it is used to check the size and complexity of a documented payload.
+	 * 
+	 * @return the budget
+	 * @see FieldSnippetResultHandler#withBudget(PayloadBudget)
+	 */
+	public static PayloadBudget payloadBudget() {
+		return new PayloadBudget();
+	}
+
 	/**
 	 * Creates a {@code RequestFieldsSnippetResultHandler} that will produce a
 	 * documentation snippet for a request's fields.
@@ -114,7 +150,23 @@ public abstract class PayloadDocumentation {
 	 */
 	public static FieldSnippetResultHandler documentRequestFields(String outputDir,
 			FieldDescriptor... descriptors) {
-		return new RequestFieldSnippetResultHandler(outputDir, Arrays.asList(descriptors));
+		return documentRequestFields(outputDir, fieldDescriptors(descriptors));
+	}
+
+	/**
+	 * Creates a {@code RequestFieldsSnippetResultHandler} that will produce a
+	 * documentation snippet for a request's fields using the given compiled
+	 * {@code descriptors}.
+	 * 
+	 * @param outputDir The directory to which the snippet should be written
+	 * @param descriptors The descriptions of the request's fields
+	 * @return the handler
+	 * @see #documentRequestFields(String, FieldDescriptor...)
+	 * @see #fieldDescriptors(FieldDescriptor...)
+	 */
+	public static FieldSnippetResultHandler documentRequestFields(String outputDir,
+			FieldDescriptors descriptors) {
+		return new RequestFieldSnippetResultHandler(outputDir, descriptors);
 	}
 
 	/**
@@ -135,8 +187,23 @@ public abstract class PayloadDocumentation {
 	 */
 	public static FieldSnippetResultHandler documentResponseFields(String outputDir,
 			FieldDescriptor... descriptors) {
-		return new ResponseFieldSnippetResultHandler(outputDir,
-				Arrays.asList(descriptors));
+		return documentResponseFields(outputDir, fieldDescriptors(descriptors));
+	}
+
+	/**
+	 * Creates a {@code ResponseFieldsSnippetResultHandler} that will produce a
+	 * documentation snippet for a response's fields using the given compiled
+	 * {@code descriptors}.
+	 * 
+	 * @param outputDir The directory to which the snippet should be written
+	 * @param descriptors The descriptions of the response's fields
+	 * @return the handler
+	 * @see #documentResponseFields(String, FieldDescriptor...)
+	 * @see #fieldDescriptors(FieldDescriptor...)
+	 */
+	public static FieldSnippetResultHandler documentResponseFields(String outputDir,
+			FieldDescriptors descriptors) {
+		return new ResponseFieldSnippetResultHandler(outputDir, descriptors);
 	}
 
 }
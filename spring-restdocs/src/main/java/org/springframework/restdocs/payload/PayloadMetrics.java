@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.payload;
+
+/**
+ * The size and complexity of a payload, as checked against a {@link PayloadBudget}.
+ * 
+ * @author Andy Wilkinson
+ */
+class PayloadMetrics {
+
+	static final int NOT_MEASURED = -1;
+
+	private final int size;
+
+	private final int depth;
+
+	private final int fields;
+
+	private final int maxArrayLength;
+
+	private PayloadMetrics(int size, int depth, int fields, int maxArrayLength) {
+		this.size = size;
+		this.depth = depth;
+		this.fields = fields;
+		this.maxArrayLength = maxArrayLength;
+	}
+
+	/**
+	 * Creates metrics for a JSON payload from the structure recorded when its
+	 * {@code shape} was captured.
+	 * 
+	 * @param shape the shape of the payload
+	 * @param size the size of the payload in bytes
+	 * @return the metrics
+	 */
+	static PayloadMetrics measure(PayloadShape shape, int size) {
+		return new PayloadMetrics(size, shape.getDepth(), shape.getFields(),
+				shape.getMaxArrayLength());
+	}
+
+	/**
+	 * Creates metrics for a payload whose structure is not measured, such as an XML
+	 * payload, and that only describe its size.
+	 * 
+	 * @param size the size of the payload in bytes
+	 * @return the metrics
+	 */
+	static PayloadMetrics sizeOnly(int size) {
+		return new PayloadMetrics(size, NOT_MEASURED, NOT_MEASURED, NOT_MEASURED);
+	}
+
+	int getSize() {
+		return this.size;
+	}
+
+	int getDepth() {
+		return this.depth;
+	}
+
+	int getFields() {
+		return this.fields;
+	}
+
+	int getMaxArrayLength() {
+		return this.maxArrayLength;
+	}
+
+}
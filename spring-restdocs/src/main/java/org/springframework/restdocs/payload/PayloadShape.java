@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.restdocs.payload;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The structure of a parsed JSON payload, captured in a single walk of the payload. The
+ * walk records the payload's depth, the number of fields in its objects and the length
+ * of its largest array. It also produces a structural signature from the payload's keys,
+ * the kind of each of its values and the structure of each of its arrays' items, but not
+ * the values themselves. Two payloads have equal signatures only if they have the same
+ * fields with the same types.
+ * <p>
+ * No signature is produced for a payload whose signature would be longer than
+ * {@link #MAX_SIGNATURE_LENGTH} characters.
+ *
+ * @author Andy Wilkinson
+ */
+final class PayloadShape {
+
+	static final int MAX_SIGNATURE_LENGTH = 16384;
+
+	private StringBuilder signatureBuilder = new StringBuilder();
+
+	private String signature;
+
+	private int depth;
+
+	private int fields;
+
+	private int maxArrayLength;
+
+	private PayloadShape() {
+
+	}
+
+	/**
+	 * Walks the given parsed JSON {@code payload} to capture its shape. As documenting a
+	 * payload's fields modifies it, the shape must be captured before its fields are
+	 * validated.
+	 *
+	 * @param payload the payload
+	 * @return the shape of the payload
+	 */
+	static PayloadShape of(Object payload) {
+		PayloadShape shape = new PayloadShape();
+		shape.depth = shape.walk(payload);
+		if (shape.signatureBuilder != null) {
+			shape.signature = shape.signatureBuilder.toString();
+			shape.signatureBuilder = null;
+		}
+		return shape;
+	}
+
+	private int walk(Object value) {
+		int depth = 0;
+		if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			this.fields += map.size();
+			append('{');
+			for (Entry<?, ?> entry : map.entrySet()) {
+				appendKey(entry.getKey().toString());
+				depth = Math.max(depth, walk(entry.getValue()));
+			}
+			append('}');
+			return depth + 1;
+		}
+		if (value instanceof List) {
+			List<?> list = (List<?>) value;
+			this.maxArrayLength = Math.max(this.maxArrayLength, list.size());
+			append('[');
+			for (Object item : list) {
+				depth = Math.max(depth, walk(item));
+			}
+			append(']');
+			return depth + 1;
+		}
+		append(kindOf(value));
+		return depth;
+	}
+
+	private static char kindOf(Object value) {
+		if (value == null) {
+			return 'n';
+		}
+		if (value instanceof String) {
+			return 's';
+		}
+		if (value instanceof Boolean) {
+			return 'b';
+		}
+		return 'd';
+	}
+
+	private void append(char c) {
+		if (this.signatureBuilder != null) {
+			this.signatureBuilder.append(c);
+			checkSignatureLength();
+		}
+	}
+
+	private void appendKey(String key) {
+		// Prefixing the key with its length keeps the signature unambiguous whatever
+		// characters the key contains
+		if (this.signatureBuilder != null) {
+			this.signatureBuilder.append(key.length()).append(':').append(key);
+			checkSignatureLength();
+		}
+	}
+
+	private void checkSignatureLength() {
+		if (this.signatureBuilder.length() > MAX_SIGNATURE_LENGTH) {
+			this.signatureBuilder = null;
+		}
+	}
+
+	/**
+	 * Returns the structural signature of the payload, or {@code null} if the signature
+	 * would be longer than {@link #MAX_SIGNATURE_LENGTH}.
+	 *
+	 * @return the signature or {@code null}
+	 */
+	String getSignature() {
+		return this.signature;
+	}
+
+	int getDepth() {
+		return this.depth;
+	}
+
+	int getFields() {
+		return this.fields;
+	}
+
+	int getMaxArrayLength() {
+		return this.maxArrayLength;
+	}
+
+}
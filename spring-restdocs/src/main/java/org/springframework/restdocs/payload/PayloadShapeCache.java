@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.payload;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * A cache of the outcome of successfully validating payloads of a particular
+ * {@link PayloadShape shape} against a particular set of {@link FieldDescriptors}. Two
+ * payloads with the same shape have the same fields with the same types and, therefore,
+ * validate in the same way and resolve to the same field types. Outcomes are keyed on
+ * the payload's complete structural signature so a hit is never the result of a
+ * collision.
+ * <p>
+ * Only successful outcomes are cached. A failure's message describes the payload's
+ * values so a payload that fails validation is always validated in full. A payload whose
+ * shape has no signature, as it is too large, is never cached. Once the cache is full,
+ * the least recently used outcome is evicted.
+ *
+ * @author Andy Wilkinson
+ */
+class PayloadShapeCache {
+
+	private final Map<Key, List<FieldType>> fieldTypes;
+
+	/**
+	 * Creates a new cache that will hold the outcomes for at most {@code maximumSize}
+	 * combinations of descriptors and payload shape.
+	 *
+	 * @param maximumSize the maximum size of the cache
+	 */
+	PayloadShapeCache(final int maximumSize) {
+		this.fieldTypes = new LinkedHashMap<Key, List<FieldType>>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Entry<Key, List<FieldType>> eldest) {
+				return size() > maximumSize;
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the field types resolved when a payload with the given {@code shape} was
+	 * successfully validated against the given {@code descriptors}, or {@code null} if no
+	 * such payload has been validated.
+	 *
+	 * @param descriptors the descriptors
+	 * @param shape the shape of the payload
+	 * @return the field types, keyed by descriptor, or {@code null}
+	 */
+	Map<FieldDescriptor, FieldType> get(FieldDescriptors descriptors, PayloadShape shape) {
+		if (shape.getSignature() == null) {
+			return null;
+		}
+		List<FieldType> types;
+		synchronized (this.fieldTypes) {
+			types = this.fieldTypes.get(new Key(descriptors, shape));
+		}
+		if (types == null) {
+			return null;
+		}
+		Map<FieldDescriptor, FieldType> fieldTypes = new LinkedHashMap<FieldDescriptor, FieldType>();
+		Iterator<FieldType> typesIterator = types.iterator();
+		for (FieldDescriptor descriptor : descriptors.getDescriptors()) {
+			fieldTypes.put(descriptor, typesIterator.next());
+		}
+		return fieldTypes;
+	}
+
+	/**
+	 * Records that a payload with the given {@code shape} was successfully validated
+	 * against the given {@code descriptors}, resolving the given {@code fieldTypes}.
+	 *
+	 * @param descriptors the descriptors
+	 * @param shape the shape of the payload
+	 * @param fieldTypes the field types, keyed by descriptor
+	 */
+	void put(FieldDescriptors descriptors, PayloadShape shape,
+			Map<FieldDescriptor, FieldType> fieldTypes) {
+		if (shape.getSignature() == null) {
+			return;
+		}
+		List<FieldType> types = Collections.unmodifiableList(new ArrayList<FieldType>(
+				fieldTypes.values()));
+		synchronized (this.fieldTypes) {
+			this.fieldTypes.put(new Key(descriptors, shape), types);
+		}
+	}
+
+	private static final class Key {
+
+		private final Object descriptorsSignature;
+
+		private final String shapeSignature;
+
+		private Key(FieldDescriptors descriptors, PayloadShape shape) {
+			this.descriptorsSignature = descriptors.getSignature();
+			this.shapeSignature = shape.getSignature();
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.descriptorsSignature.hashCode()
+					+ this.shapeSignature.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return this.shapeSignature.equals(other.shapeSignature)
+					&& this.descriptorsSignature.equals(other.descriptorsSignature);
+		}
+
+	}
+
+}
@@ -17,8 +17,9 @@ package org.springframework.restdocs.payload;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.util.List;
+import java.util.Collection;
 
+import org.springframework.restdocs.snippet.DocumentationCoverage;
 import org.springframework.test.web.servlet.MvcResult;
 
 /**
@@ -28,10 +29,25 @@ import org.springframework.test.web.servlet.MvcResult;
  */
 public class RequestFieldSnippetResultHandler extends FieldSnippetResultHandler {
 
-	RequestFieldSnippetResultHandler(String outputDir, List<FieldDescriptor> descriptors) {
+	RequestFieldSnippetResultHandler(String outputDir, FieldDescriptors descriptors) {
 		super(outputDir, "request", descriptors);
 	}
 
+	@Override
+	void recordCoverage(MvcResult result, Collection<String> paths) {
+		DocumentationCoverage.recordRequestFields(result, paths);
+	}
+
+	@Override
+	String getContentType(MvcResult result) {
+		return result.getRequest().getContentType();
+	}
+
+	@Override
+	int getPayloadSize(MvcResult result) {
+		return Math.max(0, result.getRequest().getContentLength());
+	}
+
 	@Override
 	protected Reader getPayloadReader(MvcResult result) throws IOException {
 		return result.getRequest().getReader();
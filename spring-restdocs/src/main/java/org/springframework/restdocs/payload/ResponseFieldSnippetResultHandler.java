@@ -18,8 +18,11 @@ package org.springframework.restdocs.payload;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.List;
+import java.util.Collection;
 
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.restdocs.config.RestDocumentationContext;
+import org.springframework.restdocs.snippet.DocumentationCoverage;
 import org.springframework.test.web.servlet.MvcResult;
 
 /**
@@ -29,10 +32,33 @@ import org.springframework.test.web.servlet.MvcResult;
  */
 public class ResponseFieldSnippetResultHandler extends FieldSnippetResultHandler {
 
-	ResponseFieldSnippetResultHandler(String outputDir, List<FieldDescriptor> descriptors) {
+	ResponseFieldSnippetResultHandler(String outputDir, FieldDescriptors descriptors) {
 		super(outputDir, "response", descriptors);
 	}
 
+	@Override
+	void recordCoverage(MvcResult result, Collection<String> paths) {
+		DocumentationCoverage.recordResponseFields(result, paths);
+	}
+
+	@Override
+	String getContentType(MvcResult result) {
+		return result.getResponse().getContentType();
+	}
+
+	@Override
+	int getPayloadSize(MvcResult result) throws IOException {
+		// A post-processed response's content is only available as a String
+		MockHttpServletResponse response = result.getResponse();
+		return response.getContentAsString().getBytes(
+				response.getCharacterEncoding()).length;
+	}
+
+	@Override
+	PayloadBudget getConfiguredBudget(RestDocumentationContext context) {
+		return context != null ? context.getResponseBudget() : null;
+	}
+
 	@Override
 	protected Reader getPayloadReader(MvcResult result) throws IOException {
 		return new StringReader(result.getResponse().getContentAsString());
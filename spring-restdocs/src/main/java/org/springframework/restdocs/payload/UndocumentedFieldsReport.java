@@ -0,0 +1,212 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.payload;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * A summary of the parts of a payload that were not documented. For each undocumented
+ * path the report records the number of times that it occurs and a sample of its value.
+ * The number of paths that are described, and the number of other paths that are
+ * counted, are capped so that the report remains small, however large the undocumented
+ * part of the payload may be.
+ *
+ * @author Andy Wilkinson
+ */
+class UndocumentedFieldsReport {
+
+	static final int MAX_REPORTED_PATHS = 20;
+
+	static final int MAX_SAMPLE_LENGTH = 50;
+
+	static final int MAX_OMITTED_PATHS = 1000;
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final Map<String, ReportedPath> reportedPaths = new LinkedHashMap<String, ReportedPath>();
+
+	private final Set<String> omittedPaths = new HashSet<String>();
+
+	private boolean omittedPathsTruncated;
+
+	private final Object undocumentedPayload;
+
+	private UndocumentedFieldsReport(Object undocumentedPayload) {
+		this.undocumentedPayload = undocumentedPayload;
+	}
+
+	/**
+	 * Creates a report describing the given {@code undocumentedPayload}, i.e. what
+	 * remains of a payload once all of its documented fields have been removed.
+	 *
+	 * @param undocumentedPayload the undocumented payload
+	 * @return the report
+	 */
+	static UndocumentedFieldsReport create(Object undocumentedPayload) {
+		UndocumentedFieldsReport report = new UndocumentedFieldsReport(
+				undocumentedPayload);
+		if (undocumentedPayload instanceof Map) {
+			report.addMap("", (Map<?, ?>) undocumentedPayload);
+		}
+		else if (undocumentedPayload instanceof List) {
+			report.addList("", (List<?>) undocumentedPayload);
+		}
+		return report;
+	}
+
+	/**
+	 * Creates an empty report to which undocumented values can be
+	 * {@link #add(String, Object) added} as they are found.
+	 *
+	 * @return the report
+	 */
+	static UndocumentedFieldsReport create() {
+		return new UndocumentedFieldsReport(null);
+	}
+
+	boolean isEmpty() {
+		return this.reportedPaths.isEmpty();
+	}
+
+	/**
+	 * Returns the undocumented payload formatted as pretty-printed JSON. The payload may
+	 * be very large so this should only be called when the full payload is required.
+	 *
+	 * @return the formatted payload
+	 */
+	String getUndocumentedPayload() {
+		try {
+			return OBJECT_MAPPER.writer().with(SerializationFeature.INDENT_OUTPUT)
+					.writeValueAsString(this.undocumentedPayload);
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Failed to format undocumented payload", ex);
+		}
+	}
+
+	private void addMap(String parentPath, Map<?, ?> map) {
+		if (map.isEmpty() && parentPath.length() > 0) {
+			addValue(parentPath, map);
+		}
+		for (Entry<?, ?> entry : map.entrySet()) {
+			String path = parentPath.length() > 0 ? parentPath + "." + entry.getKey()
+					: entry.getKey().toString();
+			add(path, entry.getValue());
+		}
+	}
+
+	private void addList(String parentPath, List<?> list) {
+		if (list.isEmpty() && parentPath.length() > 0) {
+			addValue(parentPath, list);
+		}
+		for (Object item : list) {
+			add(parentPath + "[]", item);
+		}
+	}
+
+	/**
+	 * Adds the given undocumented {@code value}, found at the given {@code path}, to the
+	 * report.
+	 *
+	 * @param path the path of the value
+	 * @param value the value
+	 */
+	void add(String path, Object value) {
+		if (value instanceof Map) {
+			addMap(path, (Map<?, ?>) value);
+		}
+		else if (value instanceof List) {
+			addList(path, (List<?>) value);
+		}
+		else {
+			addValue(path, value);
+		}
+	}
+
+	private void addValue(String path, Object value) {
+		ReportedPath reportedPath = this.reportedPaths.get(path);
+		if (reportedPath != null) {
+			reportedPath.occurrences++;
+		}
+		else if (this.reportedPaths.size() < MAX_REPORTED_PATHS) {
+			this.reportedPaths.put(path, new ReportedPath(sample(value)));
+		}
+		else if (this.omittedPaths.size() < MAX_OMITTED_PATHS) {
+			this.omittedPaths.add(path);
+		}
+		else if (!this.omittedPaths.contains(path)) {
+			this.omittedPathsTruncated = true;
+		}
+	}
+
+	private static String sample(Object value) {
+		String sample;
+		try {
+			sample = OBJECT_MAPPER.writeValueAsString(value);
+		}
+		catch (JsonProcessingException ex) {
+			sample = String.valueOf(value);
+		}
+		if (sample.length() > MAX_SAMPLE_LENGTH) {
+			return sample.substring(0, MAX_SAMPLE_LENGTH) + "...";
+		}
+		return sample;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder();
+		for (Entry<String, ReportedPath> entry : this.reportedPaths.entrySet()) {
+			if (report.length() > 0) {
+				report.append(String.format("%n"));
+			}
+			ReportedPath reportedPath = entry.getValue();
+			report.append(String.format("  %s (%d %s, for example: %s)", entry.getKey(),
+					reportedPath.occurrences, reportedPath.occurrences == 1 ? "occurrence"
+							: "occurrences", reportedPath.sample));
+		}
+		if (this.omittedPathsTruncated) {
+			report.append(String.format("%n  ...and over %d more", MAX_OMITTED_PATHS));
+		}
+		else if (!this.omittedPaths.isEmpty()) {
+			report.append(String.format("%n  ...and %d more", this.omittedPaths.size()));
+		}
+		return report.toString();
+	}
+
+	private static final class ReportedPath {
+
+		private final String sample;
+
+		private int occurrences = 1;
+
+		private ReportedPath(String sample) {
+			this.sample = sample;
+		}
+
+	}
+
+}
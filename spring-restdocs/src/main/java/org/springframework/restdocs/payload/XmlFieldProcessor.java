@@ -0,0 +1,261 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.payload;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.springframework.restdocs.snippet.SnippetGenerationException;
+
+/**
+ * {@code XmlFieldProcessor} validates an XML payload's fields against the user-provided
+ * {@link FieldDescriptor FieldDescriptors} and resolves the types of the fields.
+ * <p>
+ * The payload is read in a single pass using StAX, without building a DOM. A field's path
+ * identifies an element by the local names of it and its ancestors, for example
+ * {@code /order/items/item}, or an attribute by its local name following the path of its
+ * element, for example {@code /order/@id}. The leading {@code /} is optional. Documenting
+ * an element is sufficient for all of its descendants and their attributes to also be
+ * treated as having been documented.
+ * <p>
+ * The type of an element with child elements is {@link FieldType#OBJECT}, of an element
+ * with only text content is {@link FieldType#STRING}, and of an empty element is
+ * {@link FieldType#NULL}. The type of an attribute is {@link FieldType#STRING}.
+ * 
+ * @author Andy Wilkinson
+ */
+class XmlFieldProcessor {
+
+	private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+	private static final int MAX_TEXT_LENGTH = UndocumentedFieldsReport.MAX_SAMPLE_LENGTH + 1;
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+		return factory;
+	}
+
+	/**
+	 * Processes the XML payload read from the given {@code payloadReader}, checking that
+	 * every field that is not optional is present and that every part of the payload is
+	 * documented.
+	 * 
+	 * @param payloadReader the reader for the payload
+	 * @param fieldDescriptors the descriptors of the payload's fields
+	 * @return the type of each field, or {@code null} if a field's type could not be
+	 * determined as it is not present in the payload
+	 * @throws IOException if the payload cannot be read
+	 * @throws SnippetGenerationException if the payload does not match the descriptors
+	 */
+	Map<FieldDescriptor, FieldType> process(Reader payloadReader,
+			FieldDescriptors fieldDescriptors) throws IOException {
+		Map<String, FieldDescriptor> descriptorsByPath = new HashMap<String, FieldDescriptor>();
+		for (FieldDescriptor descriptor : fieldDescriptors.getDescriptors()) {
+			descriptorsByPath.put(normalize(descriptor.getPath()), descriptor);
+		}
+		Payload payload = new Payload(descriptorsByPath);
+		try {
+			XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(payloadReader);
+			try {
+				payload.read(reader);
+			}
+			finally {
+				reader.close();
+			}
+		}
+		catch (XMLStreamException ex) {
+			throw new IOException("Failed to read XML payload", ex);
+		}
+		Map<FieldDescriptor, FieldType> fieldTypes = new LinkedHashMap<FieldDescriptor, FieldType>();
+		List<String> missingFields = new ArrayList<String>();
+		for (FieldDescriptor descriptor : fieldDescriptors.getDescriptors()) {
+			FieldType type = payload.fieldTypes.get(descriptor);
+			if (type == null && !descriptor.isOptional()) {
+				missingFields.add(descriptor.getPath());
+			}
+			fieldTypes.put(descriptor, descriptor.getType() != null ? descriptor.getType()
+					: type);
+		}
+		verify(payload.undocumented, missingFields);
+		return fieldTypes;
+	}
+
+	private void verify(UndocumentedFieldsReport undocumented, List<String> missingFields) {
+		if (!missingFields.isEmpty() || !undocumented.isEmpty()) {
+			String message = "";
+			if (!undocumented.isEmpty()) {
+				message += String.format(
+						"The following parts of the payload were not documented:%n%s",
+						undocumented);
+			}
+			if (!missingFields.isEmpty()) {
+				if (message.length() > 0) {
+					message += String.format("%n");
+				}
+				message += "Fields with the following paths were not found in the payload: "
+						+ missingFields;
+			}
+			throw new SnippetGenerationException(message);
+		}
+	}
+
+	private static String normalize(String path) {
+		return path.startsWith("/") ? path : "/" + path;
+	}
+
+	private static final class Payload {
+
+		private final Map<String, FieldDescriptor> descriptorsByPath;
+
+		private final Map<FieldDescriptor, FieldType> fieldTypes = new HashMap<FieldDescriptor, FieldType>();
+
+		private final UndocumentedFieldsReport undocumented = UndocumentedFieldsReport
+				.create();
+
+		private final Deque<Element> elements = new ArrayDeque<Element>();
+
+		private Payload(Map<String, FieldDescriptor> descriptorsByPath) {
+			this.descriptorsByPath = descriptorsByPath;
+		}
+
+		private void read(XMLStreamReader reader) throws XMLStreamException {
+			while (reader.hasNext()) {
+				switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					startElement(reader);
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+					if (!this.elements.isEmpty() && !reader.isWhiteSpace()) {
+						this.elements.peek().appendText(reader.getTextCharacters(),
+								reader.getTextStart(), reader.getTextLength());
+					}
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					endElement(this.elements.pop());
+					break;
+				default:
+					break;
+				}
+			}
+		}
+
+		private void startElement(XMLStreamReader reader) {
+			Element parent = this.elements.peek();
+			String path;
+			boolean covered;
+			if (parent != null) {
+				parent.hasChildElements = true;
+				path = parent.path + "/" + reader.getLocalName();
+				covered = parent.covered;
+			}
+			else {
+				path = "/" + reader.getLocalName();
+				covered = false;
+			}
+			FieldDescriptor descriptor = this.descriptorsByPath.get(path);
+			Element element = new Element(path, descriptor, covered || descriptor != null);
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				String attributePath = path + "/@" + reader.getAttributeLocalName(i);
+				FieldDescriptor attributeDescriptor = this.descriptorsByPath
+						.get(attributePath);
+				if (attributeDescriptor != null) {
+					recordType(attributeDescriptor, FieldType.STRING);
+				}
+				else if (!element.covered) {
+					this.undocumented.add(attributePath, reader.getAttributeValue(i));
+				}
+			}
+			this.elements.push(element);
+		}
+
+		private void endElement(Element element) {
+			if (element.descriptor != null) {
+				recordType(element.descriptor, element.getType());
+			}
+			else if (!element.covered
+					&& (!element.hasChildElements || element.text != null)) {
+				this.undocumented.add(element.path, element.text == null ? null
+						: element.text.toString());
+			}
+		}
+
+		private void recordType(FieldDescriptor descriptor, FieldType type) {
+			FieldType existing = this.fieldTypes.get(descriptor);
+			if (existing == null) {
+				this.fieldTypes.put(descriptor, type);
+			}
+			else if (existing != type) {
+				this.fieldTypes.put(descriptor, FieldType.VARIES);
+			}
+		}
+
+	}
+
+	private static final class Element {
+
+		private final String path;
+
+		private final FieldDescriptor descriptor;
+
+		private final boolean covered;
+
+		private boolean hasChildElements;
+
+		private StringBuilder text;
+
+		private Element(String path, FieldDescriptor descriptor, boolean covered) {
+			this.path = path;
+			this.descriptor = descriptor;
+			this.covered = covered;
+		}
+
+		private void appendText(char[] characters, int start, int length) {
+			if (this.text == null) {
+				this.text = new StringBuilder();
+			}
+			int remaining = MAX_TEXT_LENGTH - this.text.length();
+			if (remaining > 0) {
+				this.text.append(characters, start, Math.min(length, remaining));
+			}
+		}
+
+		private FieldType getType() {
+			if (this.hasChildElements) {
+				return FieldType.OBJECT;
+			}
+			return this.text != null ? FieldType.STRING : FieldType.NULL;
+		}
+
+	}
+
+}
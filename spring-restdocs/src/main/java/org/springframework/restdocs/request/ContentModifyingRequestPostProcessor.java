@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.request;
+
+import java.io.UnsupportedEncodingException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.restdocs.util.DocumentableHttpServletRequest;
+import org.springframework.restdocs.util.HeaderFilter;
+import org.springframework.restdocs.util.RequestCopier;
+
+/**
+ * A base class for {@link RequestPostProcessor RequestPostProcessors} that modify the
+ * content of the request. The content is modified in the copy of the request that the
+ * post-processor is given.
+ * 
+ * @author Andy Wilkinson
+ */
+public abstract class ContentModifyingRequestPostProcessor implements
+		RequestPostProcessor {
+
+	@Override
+	public MockHttpServletRequest postProcess(MockHttpServletRequest request)
+			throws Exception {
+		if (request.getContentLength() <= 0) {
+			return request;
+		}
+		String originalContent = new DocumentableHttpServletRequest(request)
+				.getContentAsString();
+		byte[] modifiedContent = getBytes(modifyContent(originalContent),
+				request.getCharacterEncoding());
+		if (request.getHeader(HttpHeaders.CONTENT_LENGTH) != null) {
+			RequestCopier.removeHeaders(request,
+					HeaderFilter.excluding(HttpHeaders.CONTENT_LENGTH));
+			request.addHeader(HttpHeaders.CONTENT_LENGTH, modifiedContent.length);
+		}
+		request.setContent(modifiedContent);
+		return request;
+	}
+
+	private byte[] getBytes(String content, String characterEncoding)
+			throws UnsupportedEncodingException {
+		if (characterEncoding == null) {
+			return content.getBytes();
+		}
+		return content.getBytes(characterEncoding);
+	}
+
+	/**
+	 * Returns a modified version of the given {@code originalContent}
+	 * 
+	 * @param originalContent the content to modify
+	 * @return the modified content
+	 * @throws Exception if a failure occurs while modifying the content
+	 */
+	protected abstract String modifyContent(String originalContent) throws Exception;
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.request;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.restdocs.util.HeaderFilter;
+import org.springframework.restdocs.util.RequestCopier;
+
+/**
+ * A {@link RequestPostProcessor} that removes headers from the request. The headers are
+ * removed from the copy of the request that it is given.
+ * 
+ * @author Andy Wilkinson
+ */
+class HeaderRemovingRequestPostProcessor implements RequestPostProcessor {
+
+	private final HeaderFilter headerFilter;
+
+	HeaderRemovingRequestPostProcessor(String... headersToRemove) {
+		this(HeaderFilter.excluding(headersToRemove));
+	}
+
+	HeaderRemovingRequestPostProcessor(HeaderFilter headerFilter) {
+		this.headerFilter = headerFilter;
+	}
+
+	@Override
+	public MockHttpServletRequest postProcess(MockHttpServletRequest request) {
+		RequestCopier.removeHeaders(request, this.headerFilter);
+		return request;
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.request;
+
+import org.springframework.restdocs.util.ContentPrettyPrinter;
+
+/**
+ * A {@link RequestPostProcessor} that pretty prints the content of the request
+ * 
+ * @author Andy Wilkinson
+ */
+class PrettyPrintingRequestPostProcessor extends ContentModifyingRequestPostProcessor {
+
+	private final String indent;
+
+	PrettyPrintingRequestPostProcessor() {
+		this(ContentPrettyPrinter.DEFAULT_INDENT);
+	}
+
+	PrettyPrintingRequestPostProcessor(String indent) {
+		this.indent = indent;
+	}
+
+	@Override
+	protected String modifyContent(String originalContent) {
+		return ContentPrettyPrinter.prettyPrint(originalContent, this.indent);
+	}
+
+}
@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import org.springframework.restdocs.snippet.DocumentationCoverage;
 import org.springframework.restdocs.snippet.DocumentationWriter;
 import org.springframework.restdocs.snippet.DocumentationWriter.TableAction;
 import org.springframework.restdocs.snippet.DocumentationWriter.TableWriter;
@@ -55,6 +56,8 @@ public class QueryParametersSnippetResultHandler extends SnippetWritingResultHan
 	protected void handle(MvcResult result, DocumentationWriter writer)
 			throws IOException {
 		verifyParameterDescriptors(result);
+		DocumentationCoverage.recordQueryParameters(result,
+				this.descriptorsByName.keySet());
 		documentParameters(writer);
 	}
 
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.request;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * A {@code RequestPostProcessor} is used to modify the request sent in a MockMvc call
+ * prior to the request being documented. The modification only affects the
+ * documentation of the request. It does not affect the request that was sent.
+ * 
+ * @author Andy Wilkinson
+ */
+public interface RequestPostProcessor {
+
+	/**
+	 * Post-processes the given {@code request}, returning a, possibly new,
+	 * {@link MockHttpServletRequest} that should now be used. The given {@code request}
+	 * is a copy of the request that was sent and may be modified directly.
+	 * 
+	 * @param request The request to post-process
+	 * @return The result of the post-processing
+	 * @throws Exception if a failure occurs during the post-processing
+	 */
+	MockHttpServletRequest postProcess(MockHttpServletRequest request) throws Exception;
+}
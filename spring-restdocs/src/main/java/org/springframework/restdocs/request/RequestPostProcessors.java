@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.request;
+
+import java.util.regex.Pattern;
+
+import org.springframework.restdocs.util.HeaderFilter;
+
+/**
+ * Static factory methods for accessing various {@link RequestPostProcessor
+ * RequestPostProcessors}.
+ * 
+ * @author Andy Wilkinson
+ */
+public abstract class RequestPostProcessors {
+
+	private RequestPostProcessors() {
+
+	}
+
+	/**
+	 * Returns a {@link RequestPostProcessor} that will pretty print the content of the
+	 * request.
+	 * 
+	 * @return the request post-processor
+	 */
+	public static RequestPostProcessor prettyPrintContent() {
+		return new PrettyPrintingRequestPostProcessor();
+	}
+
+	/**
+	 * Returns a {@link RequestPostProcessor} that will pretty print the content of the
+	 * request, indenting each level of the objects in JSON content with the given
+	 * {@code indent}, for example {@code "\t"} or four spaces.
+	 * 
+	 * @param indent the indent, made up of spaces and tabs
+	 * @return the request post-processor
+	 */
+	public static RequestPostProcessor prettyPrintContent(String indent) {
+		return new PrettyPrintingRequestPostProcessor(indent);
+	}
+
+	/**
+	 * Returns a {@link RequestPostProcessor} that will remove the headers with the given
+	 * {@code headerNames} from the request. Header names are case-insensitive and may
+	 * contain {@code *} wildcards, for example {@code X-B3-*}.
+	 * 
+	 * @param headerNames the name of the headers to remove
+	 * @return the request post-processor
+	 */
+	public static RequestPostProcessor removeHeaders(String... headerNames) {
+		return new HeaderRemovingRequestPostProcessor(
+				HeaderFilter.excluding(headerNames));
+	}
+
+	/**
+	 * Returns a {@link RequestPostProcessor} that will remove the headers with names that
+	 * match any of the given {@code patterns} from the request. Patterns are matched
+	 * case-insensitively.
+	 * 
+	 * @param patterns the patterns that identify the headers to remove
+	 * @return the request post-processor
+	 */
+	public static RequestPostProcessor removeHeadersMatching(Pattern... patterns) {
+		return new HeaderRemovingRequestPostProcessor(
+				HeaderFilter.excludingMatches(patterns));
+	}
+
+	/**
+	 * Returns a {@link RequestPostProcessor} that will update the content of the request
+	 * by replacing any occurrences of the given {@code pattern} with the given
+	 * {@code replacement}.
+	 *
+	 * @param pattern the pattern to match
+	 * @param replacement the replacement to apply
+	 * @return the request post-processor
+	 */
+	public static RequestPostProcessor replacePattern(Pattern pattern, String replacement) {
+		return new PatternReplacingRequestPostProcessor(pattern, replacement);
+	}
+
+}
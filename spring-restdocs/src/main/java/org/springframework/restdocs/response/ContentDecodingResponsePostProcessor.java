@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link ResponsePostProcessor} that decodes the content of a textual response that has
+ * been compressed using {@code gzip} or {@code deflate}. The response's headers are
+ * unchanged. A response with any other content encoding, or with a content type that is
+ * not textual, is returned unchanged.
+ * 
+ * @author Andy Wilkinson
+ */
+class ContentDecodingResponsePostProcessor implements ResponsePostProcessor {
+
+	private static final String CONTENT_ENCODING = "Content-Encoding";
+
+	private static final int BUFFER_SIZE = 4096;
+
+	private static final List<MediaType> TEXTUAL_TYPES = Arrays.asList(new MediaType(
+			"text", "*"), MediaType.APPLICATION_JSON, new MediaType("application",
+			"*+json"), MediaType.APPLICATION_XML, new MediaType("application", "*+xml"),
+			MediaType.APPLICATION_FORM_URLENCODED, new MediaType("application",
+					"javascript"));
+
+	@Override
+	public MockHttpServletResponse postProcess(MockHttpServletResponse response)
+			throws Exception {
+		String contentEncoding = response.getHeader(CONTENT_ENCODING);
+		if (contentEncoding == null || !isTextual(response.getContentType())) {
+			return response;
+		}
+		contentEncoding = contentEncoding.trim();
+		byte[] content = response.getContentAsByteArray();
+		String decodedContent;
+		if ("gzip".equalsIgnoreCase(contentEncoding)
+				|| "x-gzip".equalsIgnoreCase(contentEncoding)) {
+			decodedContent = read(new GZIPInputStream(new ByteArrayInputStream(content)),
+					response.getCharacterEncoding());
+		}
+		else if ("deflate".equalsIgnoreCase(contentEncoding)) {
+			decodedContent = inflate(content, response.getCharacterEncoding());
+		}
+		else {
+			return response;
+		}
+		return ContentModifyingReponsePostProcessor.withContent(response, decodedContent);
+	}
+
+	private static boolean isTextual(String contentType) {
+		if (!StringUtils.hasText(contentType)) {
+			return false;
+		}
+		MediaType mediaType = MediaType.parseMediaType(contentType);
+		for (MediaType textualType : TEXTUAL_TYPES) {
+			if (textualType.includes(mediaType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String inflate(byte[] content, String characterEncoding) throws IOException {
+		try {
+			return read(new InflaterInputStream(new ByteArrayInputStream(content)),
+					characterEncoding);
+		}
+		catch (ZipException ex) {
+			// Some servers send a raw deflate stream without the zlib wrapper
+			return read(new InflaterInputStream(new ByteArrayInputStream(content),
+					new Inflater(true)), characterEncoding);
+		}
+	}
+
+	private String read(InputStream input, String characterEncoding) throws IOException {
+		try (Reader reader = new InputStreamReader(input, characterEncoding)) {
+			StringBuilder decoded = new StringBuilder();
+			char[] buffer = new char[BUFFER_SIZE];
+			int read;
+			while ((read = reader.read(buffer)) != -1) {
+				decoded.append(buffer, 0, read);
+			}
+			return decoded.toString();
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.response;
+
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link ResponsePostProcessor} that limits the content of a response so that only its
+ * beginning is documented. The content is limited to a maximum number of characters and,
+ * for a {@code text/event-stream} response, to a maximum number of events. A response
+ * whose content is within the limits is returned unchanged.
+ *
+ * @author Andy Wilkinson
+ */
+class ContentLimitingResponsePostProcessor implements ResponsePostProcessor {
+
+	static final int UNLIMITED = -1;
+
+	private static final MediaType TEXT_EVENT_STREAM = new MediaType("text",
+			"event-stream");
+
+	private final int maxLength;
+
+	private final int maxEvents;
+
+	ContentLimitingResponsePostProcessor(int maxLength, int maxEvents) {
+		this.maxLength = maxLength;
+		this.maxEvents = maxEvents;
+	}
+
+	@Override
+	public MockHttpServletResponse postProcess(MockHttpServletResponse response)
+			throws Exception {
+		String content = response.getContentAsString();
+		int limit = content.length();
+		if (this.maxEvents != UNLIMITED && isEventStream(response.getContentType())) {
+			limit = endOfEvents(content, this.maxEvents);
+		}
+		if (this.maxLength != UNLIMITED) {
+			limit = Math.min(limit, this.maxLength);
+		}
+		if (limit >= content.length()) {
+			return response;
+		}
+		return ContentModifyingReponsePostProcessor.withContent(response,
+				content.substring(0, limit));
+	}
+
+	private static boolean isEventStream(String contentType) {
+		return StringUtils.hasText(contentType)
+				&& TEXT_EVENT_STREAM.isCompatibleWith(MediaType.parseMediaType(contentType));
+	}
+
+	/**
+	 * Returns the index of the end of the given number of events. Each event is
+	 * terminated by a blank line and lines may be terminated by {@code \r\n}, {@code \n}
+	 * or {@code \r}.
+	 */
+	private static int endOfEvents(String content, int maxEvents) {
+		int length = content.length();
+		int events = 0;
+		boolean inEvent = false;
+		int index = 0;
+		while (index < length) {
+			int lineStart = index;
+			while (index < length && content.charAt(index) != '\r'
+					&& content.charAt(index) != '\n') {
+				index++;
+			}
+			boolean blank = index == lineStart;
+			if (index < length) {
+				index += content.startsWith("\r\n", index) ? 2 : 1;
+			}
+			if (!blank) {
+				inEvent = true;
+			}
+			else if (inEvent) {
+				inEvent = false;
+				if (++events == maxEvents) {
+					return index;
+				}
+			}
+		}
+		return length;
+	}
+
+}
@@ -38,12 +38,14 @@ public abstract class ContentModifyingReponsePostProcessor implements
 	@Override
 	public MockHttpServletResponse postProcess(MockHttpServletResponse response)
 			throws Exception {
-		String modifiedContent = modifyContent(response.getContentAsString());
+		return withContent(response, modifyContent(response.getContentAsString()));
+	}
 
+	static MockHttpServletResponse withContent(MockHttpServletResponse response,
+			String content) {
 		Enhancer enhancer = new Enhancer();
 		enhancer.setSuperclass(MockHttpServletResponse.class);
-		enhancer.setCallback(new ContentModifyingMethodInterceptor(modifiedContent,
-				response));
+		enhancer.setCallback(new ContentModifyingMethodInterceptor(content, response));
 
 		return (MockHttpServletResponse) enhancer.create();
 	}
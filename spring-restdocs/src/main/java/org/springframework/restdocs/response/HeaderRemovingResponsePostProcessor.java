@@ -22,58 +22,76 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.springframework.cglib.proxy.Enhancer;
 import org.springframework.cglib.proxy.MethodInterceptor;
 import org.springframework.cglib.proxy.MethodProxy;
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.restdocs.util.HeaderFilter;
 import org.springframework.util.ReflectionUtils;
 
 /**
- * A {@link ResponsePostProcessor} that removes headers from the response
+ * A {@link ResponsePostProcessor} that removes headers from the response. The names of
+ * the response's remaining headers are determined once, when the response is
+ * post-processed. A response that has none of the headers that are to be removed is
+ * returned as-is.
  * 
  * @author Andy Wilkinson
  */
 class HeaderRemovingResponsePostProcessor implements ResponsePostProcessor {
 
-	private final Set<String> headersToRemove;
+	private final HeaderFilter headerFilter;
 
 	public HeaderRemovingResponsePostProcessor(String... headersToRemove) {
-		this.headersToRemove = new HashSet<>(Arrays.asList(headersToRemove));
+		this(HeaderFilter.excluding(headersToRemove));
+	}
+
+	HeaderRemovingResponsePostProcessor(HeaderFilter headerFilter) {
+		this.headerFilter = headerFilter;
 	}
 
 	@Override
 	public MockHttpServletResponse postProcess(final MockHttpServletResponse response) {
+		List<String> headerNames = new ArrayList<String>();
+		for (String headerName : response.getHeaderNames()) {
+			if (!this.headerFilter.isExcluded(headerName)) {
+				headerNames.add(headerName);
+			}
+		}
+		if (headerNames.size() == response.getHeaderNames().size()) {
+			return response;
+		}
 		Enhancer enhancer = new Enhancer();
 		enhancer.setSuperclass(MockHttpServletResponse.class);
-		enhancer.setCallback(new HeaderHidingMethodInterceptor(this.headersToRemove,
-				response));
+		enhancer.setCallback(new HeaderHidingMethodInterceptor(this.headerFilter,
+				Collections.unmodifiableList(headerNames), response));
 
 		return (MockHttpServletResponse) enhancer.create();
 	}
 
 	private static final class HeaderHidingMethodInterceptor implements MethodInterceptor {
 
-		private final MockHttpServletResponse response;
-
-		private final List<Method> interceptedMethods = Arrays.asList(
+		private static final List<Method> INTERCEPTED_METHODS = Arrays.asList(
 				findHeaderMethod("containsHeader", String.class),
 				findHeaderMethod("getHeader", String.class),
 				findHeaderMethod("getHeaderValue", String.class),
 				findHeaderMethod("getHeaders", String.class),
 				findHeaderMethod("getHeaderValues", String.class));
 
-		private final Method getHeaderNamesMethod = findHeaderMethod("getHeaderNames");
+		private static final Method GET_HEADER_NAMES_METHOD = findHeaderMethod("getHeaderNames");
+
+		private final MockHttpServletResponse response;
+
+		private final HeaderFilter headerFilter;
 
-		private final Set<String> hiddenHeaders;
+		private final List<String> headerNames;
 
-		private HeaderHidingMethodInterceptor(Set<String> hiddenHeaders,
-				MockHttpServletResponse response) {
-			this.hiddenHeaders = hiddenHeaders;
+		private HeaderHidingMethodInterceptor(HeaderFilter headerFilter,
+				List<String> headerNames, MockHttpServletResponse response) {
+			this.headerFilter = headerFilter;
+			this.headerNames = headerNames;
 			this.response = response;
 		}
 
@@ -81,16 +99,10 @@ class HeaderRemovingResponsePostProcessor implements ResponsePostProcessor {
 		public Object intercept(Object proxy, Method method, Object[] args,
 				MethodProxy methodProxy) throws IllegalAccessException,
 				InvocationTargetException {
-			if (this.getHeaderNamesMethod.equals(method)) {
-				List<String> headerNames = new ArrayList<>();
-				for (String candidate : this.response.getHeaderNames()) {
-					if (!isHiddenHeader(candidate)) {
-						headerNames.add(candidate);
-					}
-				}
-				return headerNames;
+			if (GET_HEADER_NAMES_METHOD.equals(method)) {
+				return this.headerNames;
 			}
-			if (this.interceptedMethods.contains(method) && isHiddenHeader(args)) {
+			if (INTERCEPTED_METHODS.contains(method) && isHiddenHeader(args)) {
 				if (method.getReturnType().equals(boolean.class)) {
 					return false;
 				}
@@ -107,16 +119,7 @@ class HeaderRemovingResponsePostProcessor implements ResponsePostProcessor {
 
 		private boolean isHiddenHeader(Object[] args) {
 			if (args.length == 1 && args[0] instanceof String) {
-				return isHiddenHeader((String) args[0]);
-			}
-			return false;
-		}
-
-		private boolean isHiddenHeader(String headerName) {
-			for (String hiddenHeader : this.hiddenHeaders) {
-				if (hiddenHeader.equalsIgnoreCase(headerName)) {
-					return true;
-				}
+				return this.headerFilter.isExcluded((String) args[0]);
 			}
 			return false;
 		}
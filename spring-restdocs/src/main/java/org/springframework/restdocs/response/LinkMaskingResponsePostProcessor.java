@@ -16,28 +16,98 @@
 
 package org.springframework.restdocs.response;
 
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 
 /**
  * A {@link ResponsePostProcessor} that modifies the content of a hypermedia response to
  * mask the hrefs of any links.
+ * <p>
+ * The content is read as a stream of JSON tokens and the value of each {@code href}
+ * field that appears within a {@code _links} or {@code links} structure is replaced
+ * with the mask. The rest of the content, including its formatting, is copied
+ * unchanged as the tokens are read so the content is only read once. Content that is
+ * not valid JSON is copied unchanged from the point at which it stops being valid.
  * 
  * @author Andy Wilkinson
  * @author Dewet Diener
  */
-class LinkMaskingResponsePostProcessor extends PatternReplacingResponsePostProcessor {
+class LinkMaskingResponsePostProcessor extends ContentModifyingReponsePostProcessor {
 
 	private static final String DEFAULT_MASK = "...";
 
-	private static final Pattern LINK_HREF = Pattern.compile(
-			"\"href\"\\s*:\\s*\"(.*?)\"", Pattern.DOTALL);
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private final String mask;
 
 	LinkMaskingResponsePostProcessor() {
-		super(LINK_HREF, DEFAULT_MASK);
+		this(DEFAULT_MASK);
 	}
 
 	LinkMaskingResponsePostProcessor(String mask) {
-		super(LINK_HREF, mask);
+		this.mask = mask;
+	}
+
+	@Override
+	protected String modifyContent(String originalContent) throws IOException {
+		StringBuilder buffer = new StringBuilder(originalContent.length());
+		int copied = 0;
+		// Whether or not each open object or array is part of a links structure
+		Deque<Boolean> links = new ArrayDeque<Boolean>();
+		try (JsonParser parser = JSON_FACTORY.createParser(originalContent)) {
+			int fieldNameStart = -1;
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				if (token == JsonToken.FIELD_NAME) {
+					fieldNameStart = (int) parser.getTokenLocation().getCharOffset();
+				}
+				else if (token.isStructStart()) {
+					links.push(isLinks(parser.getCurrentName())
+							|| (!links.isEmpty() && links.peek()));
+				}
+				else if (token.isStructEnd()) {
+					links.pop();
+				}
+				else if (token == JsonToken.VALUE_STRING && !links.isEmpty()
+						&& links.peek() && "href".equals(parser.getCurrentName())) {
+					// Reading the value's text moves the parser past its closing quote
+					parser.getText();
+					int start = valueStart(originalContent, fieldNameStart);
+					int end = (int) parser.getCurrentLocation().getCharOffset() - 1;
+					buffer.append(originalContent, copied, start).append(this.mask);
+					copied = end;
+				}
+			}
+		}
+		catch (JsonProcessingException ex) {
+			// Not JSON or truncated JSON. Links found so far have been masked.
+		}
+		return buffer.append(originalContent, copied, originalContent.length())
+				.toString();
+	}
+
+	/**
+	 * Returns the index of the first character of the string value of the field whose
+	 * name is the first to follow the given index. The parser may locate a field name at
+	 * the separator that precedes it so only the separator, the field's name and the
+	 * separator that follows it are read.
+	 */
+	private static int valueStart(String content, int fieldNameStart) {
+		int index = content.indexOf('"', fieldNameStart) + 1;
+		while (content.charAt(index) != '"') {
+			index += content.charAt(index) == '\\' ? 2 : 1;
+		}
+		return content.indexOf('"', index + 1) + 1;
+	}
+
+	private static boolean isLinks(String name) {
+		return "_links".equals(name) || "links".equals(name);
 	}
 
 }
@@ -16,75 +16,23 @@
 
 package org.springframework.restdocs.response;
 
-import java.io.IOException;
-import java.io.StringReader;
-import java.io.StringWriter;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
-
-import org.springframework.util.StringUtils;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.restdocs.util.ContentPrettyPrinter;
 
 class PrettyPrintingResponsePostProcessor extends ContentModifyingReponsePostProcessor {
 
-	private static final List<PrettyPrinter> PRETTY_PRINTERS = Collections
-			.unmodifiableList(Arrays.asList(new JsonPrettyPrinter(),
-					new XmlPrettyPrinter()));
+	private final String indent;
 
-	@Override
-	protected String modifyContent(String originalContent) {
-		if (StringUtils.hasText(originalContent)) {
-			for (PrettyPrinter prettyPrinter : PRETTY_PRINTERS) {
-				try {
-					return prettyPrinter.prettyPrint(originalContent);
-				}
-				catch (Exception ex) {
-					// Continue
-				}
-			}
-		}
-		return originalContent;
+	PrettyPrintingResponsePostProcessor() {
+		this(ContentPrettyPrinter.DEFAULT_INDENT);
 	}
 
-	private interface PrettyPrinter {
-
-		String prettyPrint(String string) throws Exception;
-
+	PrettyPrintingResponsePostProcessor(String indent) {
+		this.indent = indent;
 	}
 
-	private static final class XmlPrettyPrinter implements PrettyPrinter {
-
-		@Override
-		public String prettyPrint(String original) throws Exception {
-			Transformer transformer = TransformerFactory.newInstance().newTransformer();
-			transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-			transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount",
-					"4");
-			transformer.setOutputProperty(OutputKeys.DOCTYPE_PUBLIC, "yes");
-			StringWriter transformed = new StringWriter();
-			transformer.transform(new StreamSource(new StringReader(original)),
-					new StreamResult(transformed));
-			return transformed.toString();
-		}
-	}
-
-	private static final class JsonPrettyPrinter implements PrettyPrinter {
-
-		@Override
-		public String prettyPrint(String original) throws IOException {
-			ObjectMapper objectMapper = new ObjectMapper().configure(
-					SerializationFeature.INDENT_OUTPUT, true);
-			return objectMapper.writeValueAsString(objectMapper.readTree(original));
-		}
+	@Override
+	protected String modifyContent(String originalContent) {
+		return ContentPrettyPrinter.prettyPrint(originalContent, this.indent);
 	}
 
 }
@@ -18,6 +18,9 @@ package org.springframework.restdocs.response;
 
 import java.util.regex.Pattern;
 
+import org.springframework.restdocs.util.HeaderFilter;
+import org.springframework.util.Assert;
+
 /**
  * Static factory methods for accessing various {@link ResponsePostProcessor
  * ResponsePostProcessors}.
@@ -31,6 +34,18 @@ public abstract class ResponsePostProcessors {
 
 	}
 
+	/**
+	 * Returns a {@link ResponsePostProcessor} that will decode the content of a response
+	 * that has been compressed using {@code gzip} or {@code deflate}. Only a response with
+	 * a textual content type, such as {@code text/*} or a JSON or XML type, is decoded.
+	 * The response's headers, including {@code Content-Encoding}, are left unchanged.
+	 * 
+	 * @return the response post-processor
+	 */
+	public static ResponsePostProcessor decodeContent() {
+		return new ContentDecodingResponsePostProcessor();
+	}
+
 	/**
 	 * Returns a {@link ResponsePostProcessor} that will pretty print the content of the
 	 * response.
@@ -41,21 +56,77 @@ public abstract class ResponsePostProcessors {
 		return new PrettyPrintingResponsePostProcessor();
 	}
 
+	/**
+	 * Returns a {@link ResponsePostProcessor} that will pretty print the content of the
+	 * response, indenting each level of the objects in JSON content with the given
+	 * {@code indent}, for example {@code "\t"} or four spaces.
+	 * 
+	 * @param indent the indent, made up of spaces and tabs
+	 * @return the response post-processor
+	 */
+	public static ResponsePostProcessor prettyPrintContent(String indent) {
+		return new PrettyPrintingResponsePostProcessor(indent);
+	}
+
+	/**
+	 * Returns a {@link ResponsePostProcessor} that will limit the content of the
+	 * response to at most {@code maxLength} characters. Only the beginning of a long
+	 * response, for example a stream, is then documented.
+	 * 
+	 * @param maxLength the maximum length of the content
+	 * @return the response post-processor
+	 */
+	public static ResponsePostProcessor limitContent(int maxLength) {
+		Assert.isTrue(maxLength >= 0, "maxLength must not be negative");
+		return new ContentLimitingResponsePostProcessor(maxLength,
+				ContentLimitingResponsePostProcessor.UNLIMITED);
+	}
+
+	/**
+	 * Returns a {@link ResponsePostProcessor} that will limit the content of a
+	 * {@code text/event-stream} response to its first {@code maxEvents} server-sent
+	 * events. The content of any other response is unchanged.
+	 * 
+	 * @param maxEvents the maximum number of events
+	 * @return the response post-processor
+	 */
+	public static ResponsePostProcessor limitEvents(int maxEvents) {
+		Assert.isTrue(maxEvents > 0, "maxEvents must be greater than zero");
+		return new ContentLimitingResponsePostProcessor(
+				ContentLimitingResponsePostProcessor.UNLIMITED, maxEvents);
+	}
+
 	/**
 	 * Returns a {@link ResponsePostProcessor} that will remove the headers with the given
-	 * {@code headerNames} from the response.
+	 * {@code headerNames} from the response. Header names are case-insensitive and may
+	 * contain {@code *} wildcards, for example {@code X-B3-*}.
 	 * 
 	 * @param headerNames the name of the headers to remove
 	 * @return the response post-processor
 	 */
 	public static ResponsePostProcessor removeHeaders(String... headerNames) {
-		return new HeaderRemovingResponsePostProcessor(headerNames);
+		return new HeaderRemovingResponsePostProcessor(
+				HeaderFilter.excluding(headerNames));
+	}
+
+	/**
+	 * Returns a {@link ResponsePostProcessor} that will remove the headers with names that
+	 * match any of the given {@code patterns} from the response. Patterns are matched
+	 * case-insensitively.
+	 * 
+	 * @param patterns the patterns that identify the headers to remove
+	 * @return the response post-processor
+	 */
+	public static ResponsePostProcessor removeHeadersMatching(Pattern... patterns) {
+		return new HeaderRemovingResponsePostProcessor(
+				HeaderFilter.excludingMatches(patterns));
 	}
 
 	/**
 	 * Returns a {@link ResponsePostProcessor} that will update the content of the
 	 * response to mask any links that it contains. Each link is masked my replacing its
-	 * {@code href} with {@code ...}.
+	 * {@code href} with {@code ...}. Links are the {@code href} fields that appear within
+	 * the {@code _links} or {@code links} structures of a JSON response.
 	 * 
 	 * @return the response post-processor
 	 */
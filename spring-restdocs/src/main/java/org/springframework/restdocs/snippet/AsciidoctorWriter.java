@@ -19,6 +19,8 @@ package org.springframework.restdocs.snippet;
 import java.io.IOException;
 import java.io.Writer;
 
+import org.springframework.util.StringUtils;
+
 /**
  * A {@link DocumentationWriter} that produces output in <a
  * href="http://asciidoctor.org">Asciidoctor</a>.
@@ -31,8 +33,6 @@ public class AsciidoctorWriter extends DocumentationWriter {
 
 	private static final String DELIMITER_TABLE = "|===";
 
-	private final TableWriter tableWriter = new AsciidoctorTableWriter();
-
 	/**
 	 * Creates a new {@code AsciidoctorWriter} that will write to the given {@code writer}
 	 * @param writer The writer to which output will be written
@@ -67,33 +67,87 @@ public class AsciidoctorWriter extends DocumentationWriter {
 
 	@Override
 	public void table(TableAction action) throws IOException {
+		AsciidoctorTableWriter tableWriter = new AsciidoctorTableWriter();
+		action.perform(tableWriter);
 		println();
+		if (tableWriter.columnSpecs != null && tableWriter.columnSpecs.length > 0) {
+			println("[cols=\""
+					+ StringUtils.arrayToCommaDelimitedString(tableWriter.columnSpecs)
+					+ "\"]");
+		}
 		println(DELIMITER_TABLE);
-		action.perform(this.tableWriter);
+		tableWriter.writeRows(this);
 		println(DELIMITER_TABLE);
 		println();
 	}
 
-	private final class AsciidoctorTableWriter implements TableWriter {
+	/**
+	 * A {@link TableWriter} that buffers a table's rows. Buffering the rows allows the
+	 * column specification, which must precede the table, to be provided at any point.
+	 */
+	private static final class AsciidoctorTableWriter implements TableWriter {
+
+		private static final int INITIAL_CAPACITY = 1024;
+
+		private static final int CHUNK_SIZE = 1024;
+
+		private static final String LINE_SEPARATOR = System.lineSeparator();
+
+		private final StringBuilder rows = new StringBuilder(INITIAL_CAPACITY);
+
+		private String[] columnSpecs;
+
+		@Override
+		public void columns(String... specs) {
+			this.columnSpecs = specs;
+		}
 
 		@Override
 		public void headers(String... headers) {
-			StringBuilder builder = new StringBuilder();
 			for (String header : headers) {
-				builder.append("|");
-				builder.append(header);
+				this.rows.append('|');
+				appendEscaped(header);
 			}
-			println(builder.toString());
-			println();
+			this.rows.append(LINE_SEPARATOR).append(LINE_SEPARATOR);
 		}
 
 		@Override
 		public void row(String... entries) {
 			for (String entry : entries) {
-				print("|");
-				println(entry);
+				this.rows.append('|');
+				appendEscaped(entry);
+				this.rows.append(LINE_SEPARATOR);
+			}
+			this.rows.append(LINE_SEPARATOR);
+		}
+
+		private void appendEscaped(String entry) {
+			if (entry == null) {
+				this.rows.append("null");
+				return;
+			}
+			int start = 0;
+			for (int i = 0; i < entry.length(); i++) {
+				if (entry.charAt(i) == '|') {
+					this.rows.append(entry, start, i).append("\\|");
+					start = i + 1;
+				}
+			}
+			this.rows.append(entry, start, entry.length());
+		}
+
+		/**
+		 * Writes the buffered rows to the given {@code writer} in chunks, rather than
+		 * copying them into a single string.
+		 */
+		private void writeRows(Writer writer) throws IOException {
+			int length = this.rows.length();
+			char[] chunk = new char[Math.min(CHUNK_SIZE, length)];
+			for (int start = 0; start < length; start += chunk.length) {
+				int end = Math.min(start + chunk.length, length);
+				this.rows.getChars(start, end, chunk, 0);
+				writer.write(chunk, 0, end - start);
 			}
-			println();
 		}
 
 	}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.snippet;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Records what has been documented, across every test in the suite, for each of the
+ * operations that have been documented. An operation is identified by its HTTP method and
+ * the pattern of the handler mapping that handled it, falling back to the request's URI
+ * when no pattern is available.
+ * <p>
+ * Recording is enabled by configuring the location of the coverage index using the
+ * {@code org.springframework.restdocs.coverageIndex} property. When enabled, the index is
+ * written as JSON when the JVM shuts down. Recording does not lock, so it can be used by
+ * tests that are executed in parallel.
+ *
+ * @author Andy Wilkinson
+ */
+public final class DocumentationCoverage {
+
+	private static final DocumentationCoverage SHARED = createSharedCoverage();
+
+	private final ConcurrentMap<String, OperationCoverage> operations = new ConcurrentHashMap<String, OperationCoverage>();
+
+	DocumentationCoverage() {
+
+	}
+
+	private static DocumentationCoverage createSharedCoverage() {
+		final File coverageIndex = new DocumentationProperties().getCoverageIndex();
+		if (coverageIndex == null) {
+			return null;
+		}
+		final DocumentationCoverage coverage = new DocumentationCoverage();
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+
+			@Override
+			public void run() {
+				coverage.writeIndex(coverageIndex);
+			}
+
+		});
+		return coverage;
+	}
+
+	/**
+	 * Records that the snippet with the given {@code name} has been produced for the
+	 * operation in the given {@code result}.
+	 *
+	 * @param result the result of the operation
+	 * @param name the name of the snippet
+	 */
+	public static void recordSnippet(MvcResult result, String name) {
+		if (SHARED != null) {
+			SHARED.addSnippet(result, name);
+		}
+	}
+
+	/**
+	 * Records that the request fields with the given {@code paths} have been documented
+	 * for the operation in the given {@code result}.
+	 *
+	 * @param result the result of the operation
+	 * @param paths the paths of the documented fields
+	 */
+	public static void recordRequestFields(MvcResult result, Collection<String> paths) {
+		if (SHARED != null) {
+			SHARED.addRequestFields(result, paths);
+		}
+	}
+
+	/**
+	 * Records that the response fields with the given {@code paths} have been documented
+	 * for the operation in the given {@code result}.
+	 *
+	 * @param result the result of the operation
+	 * @param paths the paths of the documented fields
+	 */
+	public static void recordResponseFields(MvcResult result, Collection<String> paths) {
+		if (SHARED != null) {
+			SHARED.addResponseFields(result, paths);
+		}
+	}
+
+	/**
+	 * Records that the links with the given {@code rels} have been documented for the
+	 * operation in the given {@code result}.
+	 *
+	 * @param result the result of the operation
+	 * @param rels the rels of the documented links
+	 */
+	public static void recordLinks(MvcResult result, Collection<String> rels) {
+		if (SHARED != null) {
+			SHARED.addLinks(result, rels);
+		}
+	}
+
+	/**
+	 * Records that the query parameters with the given {@code names} have been documented
+	 * for the operation in the given {@code result}.
+	 *
+	 * @param result the result of the operation
+	 * @param names the names of the documented query parameters
+	 */
+	public static void recordQueryParameters(MvcResult result, Collection<String> names) {
+		if (SHARED != null) {
+			SHARED.addQueryParameters(result, names);
+		}
+	}
+
+	void addSnippet(MvcResult result, String name) {
+		operation(result).snippets.add(name);
+	}
+
+	void addRequestFields(MvcResult result, Collection<String> paths) {
+		operation(result).requestFields.addAll(paths);
+	}
+
+	void addResponseFields(MvcResult result, Collection<String> paths) {
+		operation(result).responseFields.addAll(paths);
+	}
+
+	void addLinks(MvcResult result, Collection<String> rels) {
+		operation(result).links.addAll(rels);
+	}
+
+	void addQueryParameters(MvcResult result, Collection<String> names) {
+		operation(result).queryParameters.addAll(names);
+	}
+
+	private OperationCoverage operation(MvcResult result) {
+		MockHttpServletRequest request = result.getRequest();
+		Object pattern = request
+				.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String path = pattern instanceof String ? (String) pattern : request
+				.getRequestURI();
+		String key = request.getMethod() + " " + path;
+		OperationCoverage operation = this.operations.get(key);
+		if (operation == null) {
+			OperationCoverage newOperation = new OperationCoverage(request.getMethod(),
+					path);
+			operation = this.operations.putIfAbsent(key, newOperation);
+			if (operation == null) {
+				operation = newOperation;
+			}
+		}
+		return operation;
+	}
+
+	void writeIndex(File coverageIndex) {
+		File parent = coverageIndex.getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+			throw new IllegalStateException("Failed to create directory '" + parent
+					+ "'");
+		}
+		try (Writer writer = new FileWriter(coverageIndex)) {
+			writeIndex(writer);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to write coverage index to '"
+					+ coverageIndex + "'", ex);
+		}
+	}
+
+	void writeIndex(Writer writer) throws IOException {
+		List<Map<String, Object>> operations = new ArrayList<Map<String, Object>>();
+		for (OperationCoverage operation : new TreeMap<String, OperationCoverage>(
+				this.operations).values()) {
+			operations.add(operation.toMap());
+		}
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(writer,
+				Collections.singletonMap("operations", operations));
+	}
+
+	private static final class OperationCoverage {
+
+		private final String method;
+
+		private final String path;
+
+		private final Set<String> snippets = concurrentSet();
+
+		private final Set<String> requestFields = concurrentSet();
+
+		private final Set<String> responseFields = concurrentSet();
+
+		private final Set<String> links = concurrentSet();
+
+		private final Set<String> queryParameters = concurrentSet();
+
+		private OperationCoverage(String method, String path) {
+			this.method = method;
+			this.path = path;
+		}
+
+		private static Set<String> concurrentSet() {
+			return Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		}
+
+		private Map<String, Object> toMap() {
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			map.put("method", this.method);
+			map.put("path", this.path);
+			map.put("snippets", new TreeSet<String>(this.snippets));
+			map.put("requestFields", new TreeSet<String>(this.requestFields));
+			map.put("responseFields", new TreeSet<String>(this.responseFields));
+			map.put("links", new TreeSet<String>(this.links));
+			map.put("queryParameters", new TreeSet<String>(this.queryParameters));
+			return map;
+		}
+
+	}
+
+}
@@ -49,4 +49,19 @@ class DocumentationProperties {
 		}
 		return null;
 	}
+
+	File getCoverageIndex() {
+		String coverageIndex = this.properties
+				.getProperty("org.springframework.restdocs.coverageIndex");
+		if (StringUtils.hasText(coverageIndex)) {
+			return new File(coverageIndex).getAbsoluteFile();
+		}
+		return null;
+	}
+
+	boolean isSnippetVerificationEnabled() {
+		return Boolean.parseBoolean(this.properties
+				.getProperty("org.springframework.restdocs.verifySnippets"));
+	}
+
 }
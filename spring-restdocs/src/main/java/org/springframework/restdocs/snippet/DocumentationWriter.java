@@ -29,7 +29,7 @@ import java.io.Writer;
 public abstract class DocumentationWriter extends PrintWriter {
 
 	protected DocumentationWriter(Writer writer) {
-		super(writer, true);
+		super(writer);
 	}
 
 	/**
@@ -106,6 +106,16 @@ public abstract class DocumentationWriter extends PrintWriter {
 	 */
 	public interface TableWriter {
 
+		/**
+		 * Specifies the table's columns. The meaning of each specification is determined
+		 * by the documentation format, for example, Asciidoctor uses them as the table's
+		 * {@code cols} attribute. Formats that do not support column specifications
+		 * ignore them.
+		 * 
+		 * @param specs the column specifications
+		 */
+		void columns(String... specs);
+
 		/**
 		 * Writes the table's headers
 		 * 
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.snippet;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A {@link DocumentationWriter} that produces output in <a
+ * href="http://daringfireball.net/projects/markdown/">Markdown</a>.
+ * 
+ * @author Andy Wilkinson
+ */
+public class MarkdownWriter extends DocumentationWriter {
+
+	private static final String DELIMITER_CODE_BLOCK = "```";
+
+	private final TableWriter tableWriter = new MarkdownTableWriter();
+
+	/**
+	 * Creates a new {@code MarkdownWriter} that will write to the given {@code writer}
+	 * @param writer The writer to which output will be written
+	 */
+	public MarkdownWriter(Writer writer) {
+		super(writer);
+	}
+
+	@Override
+	public void shellCommand(final DocumentationAction action) throws IOException {
+		codeBlock("bash", new DocumentationAction() {
+
+			@Override
+			public void perform() throws IOException {
+				MarkdownWriter.this.print("$ ");
+				action.perform();
+			}
+		});
+	}
+
+	@Override
+	public void codeBlock(String language, DocumentationAction action) throws IOException {
+		println();
+		print(DELIMITER_CODE_BLOCK);
+		if (language != null) {
+			print(language);
+		}
+		println();
+		action.perform();
+		println(DELIMITER_CODE_BLOCK);
+		println();
+	}
+
+	@Override
+	public void table(TableAction action) throws IOException {
+		println();
+		action.perform(this.tableWriter);
+		println();
+	}
+
+	private final class MarkdownTableWriter implements TableWriter {
+
+		@Override
+		public void columns(String... specs) {
+		}
+
+		@Override
+		public void headers(String... headers) {
+			row(headers);
+			for (int i = 0; i < headers.length; i++) {
+				print("| --- ");
+			}
+			println("|");
+		}
+
+		@Override
+		public void row(String... entries) {
+			for (String entry : entries) {
+				print("| ");
+				print(escape(entry));
+				print(" ");
+			}
+			println("|");
+		}
+
+		private String escape(String entry) {
+			if (entry == null) {
+				return "";
+			}
+			return entry.replace("|", "\\|").replace("\r\n", " ").replace('\n', ' ');
+		}
+
+	}
+
+}
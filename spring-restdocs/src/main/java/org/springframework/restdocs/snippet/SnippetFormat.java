@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.snippet;
+
+import java.io.Writer;
+
+/**
+ * A format in which documentation snippets can be written.
+ * 
+ * @author Andy Wilkinson
+ * @see SnippetFormats
+ */
+public interface SnippetFormat {
+
+	/**
+	 * Returns the extension of the files to which snippets in this format are written,
+	 * for example {@code adoc}
+	 * 
+	 * @return the file extension
+	 */
+	String getFileExtension();
+
+	/**
+	 * Creates a {@link DocumentationWriter} that will write snippets in this format to
+	 * the given {@code writer}
+	 * 
+	 * @param writer the writer to which output will be written
+	 * @return the documentation writer
+	 */
+	DocumentationWriter createWriter(Writer writer);
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.snippet;
+
+import java.io.Writer;
+
+/**
+ * Static factory methods for the supported {@link SnippetFormat snippet formats}.
+ * 
+ * @author Andy Wilkinson
+ */
+public abstract class SnippetFormats {
+
+	private static final SnippetFormat ASCIIDOCTOR = new SnippetFormat() {
+
+		@Override
+		public String getFileExtension() {
+			return "adoc";
+		}
+
+		@Override
+		public DocumentationWriter createWriter(Writer writer) {
+			return new AsciidoctorWriter(writer);
+		}
+
+	};
+
+	private static final SnippetFormat MARKDOWN = new SnippetFormat() {
+
+		@Override
+		public String getFileExtension() {
+			return "md";
+		}
+
+		@Override
+		public DocumentationWriter createWriter(Writer writer) {
+			return new MarkdownWriter(writer);
+		}
+
+	};
+
+	private SnippetFormats() {
+
+	}
+
+	/**
+	 * Returns the <a href="http://asciidoctor.org">Asciidoctor</a> snippet format. This
+	 * is the default format.
+	 * 
+	 * @return the Asciidoctor format
+	 */
+	public static SnippetFormat asciidoctor() {
+		return ASCIIDOCTOR;
+	}
+
+	/**
+	 * Returns the <a href="http://daringfireball.net/projects/markdown/">Markdown</a>
+	 * snippet format. Tables are written using the pipe table syntax supported by most
+	 * Markdown processors.
+	 * 
+	 * @return the Markdown format
+	 */
+	public static SnippetFormat markdown() {
+		return MARKDOWN;
+	}
+
+}
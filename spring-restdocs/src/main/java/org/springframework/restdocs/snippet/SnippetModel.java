@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.snippet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.restdocs.snippet.DocumentationWriter.DocumentationAction;
+import org.springframework.restdocs.snippet.DocumentationWriter.TableAction;
+import org.springframework.restdocs.snippet.DocumentationWriter.TableWriter;
+
+/**
+ * A format-neutral model of a documentation snippet. A snippet is made up of a sequence
+ * of blocks: plain text, code blocks, shell commands, and tables. Once captured, a model
+ * can be rendered in any {@link SnippetFormat} without repeating the work that was
+ * required to produce it.
+ * 
+ * @author Andy Wilkinson
+ * @see SnippetModelWriter
+ */
+final class SnippetModel {
+
+	private final List<Block> blocks;
+
+	SnippetModel(List<Block> blocks) {
+		this.blocks = Collections.unmodifiableList(new ArrayList<Block>(blocks));
+	}
+
+	/**
+	 * Renders the snippet using the given {@code writer}
+	 * 
+	 * @param writer the writer to render the snippet with
+	 * @throws IOException if the snippet cannot be rendered
+	 */
+	void renderTo(DocumentationWriter writer) throws IOException {
+		for (Block block : this.blocks) {
+			block.renderTo(writer);
+		}
+		writer.flush();
+	}
+
+	/**
+	 * A block within a snippet
+	 */
+	interface Block {
+
+		void renderTo(DocumentationWriter writer) throws IOException;
+
+	}
+
+	static final class TextBlock implements Block {
+
+		private final String text;
+
+		TextBlock(String text) {
+			this.text = text;
+		}
+
+		@Override
+		public void renderTo(DocumentationWriter writer) {
+			writer.print(this.text);
+		}
+
+	}
+
+	static final class CodeBlock implements Block {
+
+		private final String language;
+
+		private final String content;
+
+		CodeBlock(String language, String content) {
+			this.language = language;
+			this.content = content;
+		}
+
+		@Override
+		public void renderTo(DocumentationWriter writer) throws IOException {
+			writer.codeBlock(this.language, new TextBlockAction(writer, this.content));
+		}
+
+	}
+
+	static final class ShellCommandBlock implements Block {
+
+		private final String content;
+
+		ShellCommandBlock(String content) {
+			this.content = content;
+		}
+
+		@Override
+		public void renderTo(DocumentationWriter writer) throws IOException {
+			writer.shellCommand(new TextBlockAction(writer, this.content));
+		}
+
+	}
+
+	static final class TableBlock implements Block {
+
+		private final List<String[]> columns;
+
+		private final List<String[]> headers;
+
+		private final List<String[]> rows;
+
+		TableBlock(List<String[]> columns, List<String[]> headers, List<String[]> rows) {
+			this.columns = columns;
+			this.headers = headers;
+			this.rows = rows;
+		}
+
+		@Override
+		public void renderTo(DocumentationWriter writer) throws IOException {
+			writer.table(new TableAction() {
+
+				@Override
+				public void perform(TableWriter tableWriter) throws IOException {
+					for (String[] specs : TableBlock.this.columns) {
+						tableWriter.columns(specs);
+					}
+					for (String[] header : TableBlock.this.headers) {
+						tableWriter.headers(header);
+					}
+					for (String[] row : TableBlock.this.rows) {
+						tableWriter.row(row);
+					}
+				}
+
+			});
+		}
+
+	}
+
+	private static final class TextBlockAction implements DocumentationAction {
+
+		private final DocumentationWriter writer;
+
+		private final String content;
+
+		private TextBlockAction(DocumentationWriter writer, String content) {
+			this.writer = writer;
+			this.content = content;
+		}
+
+		@Override
+		public void perform() {
+			this.writer.print(this.content);
+		}
+
+	}
+
+}
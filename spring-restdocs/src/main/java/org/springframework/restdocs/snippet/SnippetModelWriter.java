@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.snippet;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.restdocs.snippet.SnippetModel.Block;
+import org.springframework.restdocs.snippet.SnippetModel.CodeBlock;
+import org.springframework.restdocs.snippet.SnippetModel.ShellCommandBlock;
+import org.springframework.restdocs.snippet.SnippetModel.TableBlock;
+import org.springframework.restdocs.snippet.SnippetModel.TextBlock;
+
+/**
+ * A {@link DocumentationWriter} that, rather than producing output in a particular
+ * format, captures what is written as a {@link SnippetModel}.
+ * 
+ * @author Andy Wilkinson
+ */
+class SnippetModelWriter extends DocumentationWriter {
+
+	private final StringWriter buffer;
+
+	private final List<Block> blocks = new ArrayList<Block>();
+
+	SnippetModelWriter() {
+		this(new StringWriter());
+	}
+
+	private SnippetModelWriter(StringWriter buffer) {
+		super(buffer);
+		this.buffer = buffer;
+	}
+
+	@Override
+	public void shellCommand(DocumentationAction action) throws IOException {
+		addTextBlock();
+		action.perform();
+		this.blocks.add(new ShellCommandBlock(takeBuffer()));
+	}
+
+	@Override
+	public void codeBlock(String language, DocumentationAction action)
+			throws IOException {
+		addTextBlock();
+		action.perform();
+		this.blocks.add(new CodeBlock(language, takeBuffer()));
+	}
+
+	@Override
+	public void table(TableAction action) throws IOException {
+		addTextBlock();
+		final List<String[]> columns = new ArrayList<String[]>();
+		final List<String[]> headers = new ArrayList<String[]>();
+		final List<String[]> rows = new ArrayList<String[]>();
+		action.perform(new TableWriter() {
+
+			@Override
+			public void columns(String... specs) {
+				columns.add(Arrays.copyOf(specs, specs.length));
+			}
+
+			@Override
+			public void headers(String... entries) {
+				headers.add(Arrays.copyOf(entries, entries.length));
+			}
+
+			@Override
+			public void row(String... entries) {
+				rows.add(Arrays.copyOf(entries, entries.length));
+			}
+
+		});
+		this.blocks.add(new TableBlock(columns, headers, rows));
+	}
+
+	/**
+	 * Returns a model of everything that has been written
+	 * 
+	 * @return the model
+	 */
+	SnippetModel getModel() {
+		addTextBlock();
+		return new SnippetModel(this.blocks);
+	}
+
+	private void addTextBlock() {
+		if (this.buffer.getBuffer().length() > 0) {
+			this.blocks.add(new TextBlock(takeBuffer()));
+		}
+	}
+
+	private String takeBuffer() {
+		String content = this.buffer.toString();
+		this.buffer.getBuffer().setLength(0);
+		return content;
+	}
+
+}
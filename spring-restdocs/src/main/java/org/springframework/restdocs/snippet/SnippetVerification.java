@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.snippet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies generated snippets against those that already exist on disk rather than
+ * writing them. Each snippet is rendered in memory and compared with the existing file.
+ * Any differences are recorded and reported once the JVM shuts down, allowing a build to
+ * check whether its committed snippets are up to date without modifying them.
+ * <p>
+ * Verification is enabled by setting the
+ * {@code org.springframework.restdocs.verifySnippets} property to {@code true}. To fail
+ * the build when a snippet differs, call {@link #assertNoDifferences()}, typically from
+ * an {@code @AfterClass} method.
+ *
+ * @author Andy Wilkinson
+ */
+public final class SnippetVerification {
+
+	private static final SnippetVerification SHARED = createSharedVerification();
+
+	private final AtomicInteger verified = new AtomicInteger();
+
+	private final Queue<String> differences = new ConcurrentLinkedQueue<String>();
+
+	SnippetVerification() {
+
+	}
+
+	private static SnippetVerification createSharedVerification() {
+		if (!new DocumentationProperties().isSnippetVerificationEnabled()) {
+			return null;
+		}
+		final SnippetVerification verification = new SnippetVerification();
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+
+			@Override
+			public void run() {
+				verification.report(System.err);
+			}
+
+		});
+		return verification;
+	}
+
+	/**
+	 * Returns whether or not snippet verification is enabled
+	 *
+	 * @return {@code true} if verification is enabled, otherwise {@code false}
+	 */
+	public static boolean isEnabled() {
+		return SHARED != null;
+	}
+
+	/**
+	 * Returns a description of each of the differences that have been found so far, or an
+	 * empty list if verification is not enabled
+	 *
+	 * @return the differences
+	 */
+	public static List<String> getDifferences() {
+		return SHARED == null ? Collections.<String> emptyList() : SHARED
+				.sortedDifferences();
+	}
+
+	/**
+	 * Asserts that none of the snippets that have been verified so far differ from those
+	 * on disk. Does nothing if verification is not enabled.
+	 *
+	 * @throws AssertionError if a verified snippet is missing or has changed
+	 */
+	public static void assertNoDifferences() {
+		if (SHARED != null) {
+			SHARED.assertUnchanged();
+		}
+	}
+
+	static StringWriter verifyingWriter(File snippetFile, Charset charset) {
+		return SHARED.createWriter(snippetFile, charset);
+	}
+
+	/**
+	 * Creates a writer that, when it is closed, verifies what has been written to it
+	 * against the given {@code snippetFile}
+	 */
+	StringWriter createWriter(File snippetFile, Charset charset) {
+		return new VerifyingWriter(this, snippetFile, charset);
+	}
+
+	void verify(File snippetFile, byte[] snippet) throws IOException {
+		this.verified.incrementAndGet();
+		if (!snippetFile.isFile()) {
+			this.differences.add("Missing: " + snippetFile);
+		}
+		else if (snippetFile.length() != snippet.length
+				|| !Arrays.equals(Files.readAllBytes(snippetFile.toPath()), snippet)) {
+			this.differences.add("Changed: " + snippetFile);
+		}
+	}
+
+	void report(PrintStream output) {
+		String description = describeDifferences();
+		if (description != null) {
+			output.print(description);
+		}
+	}
+
+	void assertUnchanged() {
+		String description = describeDifferences();
+		if (description != null) {
+			throw new AssertionError(description);
+		}
+	}
+
+	private String describeDifferences() {
+		List<String> differences = sortedDifferences();
+		if (differences.isEmpty()) {
+			return null;
+		}
+		StringBuilder description = new StringBuilder(String.format(
+				"%d of %d verified snippets differ from those on disk:%n",
+				differences.size(), this.verified.get()));
+		for (String difference : differences) {
+			description.append(String.format("  %s%n", difference));
+		}
+		return description.toString();
+	}
+
+	private List<String> sortedDifferences() {
+		List<String> differences = new ArrayList<String>(this.differences);
+		Collections.sort(differences);
+		return differences;
+	}
+
+	/**
+	 * A {@link StringWriter} that, when closed, verifies what has been written to it
+	 * against the existing snippet file
+	 */
+	private static final class VerifyingWriter extends StringWriter {
+
+		private final SnippetVerification verification;
+
+		private final File snippetFile;
+
+		private final Charset charset;
+
+		private boolean closed;
+
+		private VerifyingWriter(SnippetVerification verification, File snippetFile,
+				Charset charset) {
+			this.verification = verification;
+			this.snippetFile = snippetFile;
+			this.charset = charset;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!this.closed) {
+				this.closed = true;
+				this.verification.verify(this.snippetFile,
+						toString().getBytes(this.charset));
+			}
+		}
+
+	}
+
+}
@@ -22,6 +22,9 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
 
 import org.springframework.restdocs.config.RestDocumentationContext;
 import org.springframework.test.web.servlet.MvcResult;
@@ -34,6 +37,9 @@ import org.springframework.test.web.servlet.ResultHandler;
  */
 public abstract class SnippetWritingResultHandler implements ResultHandler {
 
+	private static final List<SnippetFormat> DEFAULT_FORMATS = Collections
+			.singletonList(SnippetFormats.asciidoctor());
+
 	private String outputDir;
 
 	private String fileName;
@@ -48,15 +54,50 @@ public abstract class SnippetWritingResultHandler implements ResultHandler {
 
 	@Override
 	public void handle(MvcResult result) throws IOException {
-		try (Writer writer = createWriter()) {
-			handle(result, new AsciidoctorWriter(writer));
+		List<SnippetFormat> formats = getSnippetFormats();
+		if (formats.size() == 1) {
+			SnippetFormat format = formats.get(0);
+			try (Writer writer = createWriter(format)) {
+				handle(result, format.createWriter(writer));
+			}
+		}
+		else {
+			SnippetModelWriter modelWriter = new SnippetModelWriter();
+			handle(result, modelWriter);
+			SnippetModel model = modelWriter.getModel();
+			for (SnippetFormat format : formats) {
+				try (Writer writer = createWriter(format)) {
+					model.renderTo(format.createWriter(writer));
+				}
+			}
+		}
+		DocumentationCoverage.recordSnippet(result, this.fileName);
+	}
+
+	private List<SnippetFormat> getSnippetFormats() {
+		RestDocumentationContext context = RestDocumentationContext.currentContext();
+		if (context == null || context.getSnippetFormats() == null
+				|| context.getSnippetFormats().isEmpty()) {
+			return DEFAULT_FORMATS;
+		}
+		return context.getSnippetFormats();
+	}
+
+	private Charset getSnippetCharset() {
+		RestDocumentationContext context = RestDocumentationContext.currentContext();
+		if (context == null || context.getSnippetEncoding() == null) {
+			return Charset.defaultCharset();
 		}
+		return Charset.forName(context.getSnippetEncoding());
 	}
 
-	private Writer createWriter() throws IOException {
+	private Writer createWriter(SnippetFormat format) throws IOException {
 		File outputFile = new OutputFileResolver().resolve(this.outputDir, this.fileName
-				+ ".adoc");
+				+ "." + format.getFileExtension());
 
+		if (outputFile != null && SnippetVerification.isEnabled()) {
+			return SnippetVerification.verifyingWriter(outputFile, getSnippetCharset());
+		}
 		if (outputFile != null) {
 			File parent = outputFile.getParentFile();
 			if (!parent.isDirectory() && !parent.mkdirs()) {
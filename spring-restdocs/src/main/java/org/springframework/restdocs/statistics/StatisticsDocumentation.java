@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.statistics;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.restdocs.RestDocumentationResultHandler;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.Assert;
+
+/**
+ * Static factory methods for documenting the performance characteristics of a RESTful
+ * API's operations.
+ * 
+ * @author Andy Wilkinson
+ */
+public abstract class StatisticsDocumentation {
+
+	private static final String REPLAY_ATTRIBUTE = StatisticsDocumentation.class
+			.getName() + ".replay";
+
+	private StatisticsDocumentation() {
+
+	}
+
+	/**
+	 * Creates a {@code StatisticsSnippetResultHandler} that will produce a documentation
+	 * snippet containing the size of the response.
+	 * 
+	 * @param outputDir The directory to which the snippet should be written
+	 * @return the handler
+	 * @see RestDocumentationResultHandler#withStatistics(MockMvc, int)
+	 */
+	public static StatisticsSnippetResultHandler documentStatistics(String outputDir) {
+		return new StatisticsSnippetResultHandler(outputDir, null, 0);
+	}
+
+	/**
+	 * Creates a {@code StatisticsSnippetResultHandler} that will produce a documentation
+	 * snippet containing latency percentiles and response sizes. They are measured by
+	 * replaying the documented request {@code replays} times using the given
+	 * {@code mockMvc}. Replayed requests are not themselves documented.
+	 * 
+	 * @param outputDir The directory to which the snippet should be written
+	 * @param mockMvc The {@code MockMvc} used to replay the request
+	 * @param replays The number of times the request is replayed
+	 * @return the handler
+	 * @see RestDocumentationResultHandler#withStatistics(MockMvc, int)
+	 */
+	public static StatisticsSnippetResultHandler documentStatistics(String outputDir,
+			MockMvc mockMvc, int replays) {
+		Assert.notNull(mockMvc, "mockMvc must not be null");
+		Assert.isTrue(replays > 0, "replays must be greater than zero");
+		return new StatisticsSnippetResultHandler(outputDir, mockMvc, replays);
+	}
+
+	/**
+	 * Returns whether the given {@code request} is a replay of a documented request that
+	 * was performed to measure its statistics. A replayed request should not be
+	 * documented.
+	 * 
+	 * @param request the request
+	 * @return {@code true} if the request is a replay, otherwise {@code false}
+	 */
+	public static boolean isReplay(HttpServletRequest request) {
+		return request.getAttribute(REPLAY_ATTRIBUTE) != null;
+	}
+
+	static void markAsReplay(HttpServletRequest request) {
+		request.setAttribute(REPLAY_ATTRIBUTE, Boolean.TRUE);
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.statistics;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+
+import javax.servlet.ServletContext;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.restdocs.snippet.DocumentationWriter;
+import org.springframework.restdocs.snippet.DocumentationWriter.TableAction;
+import org.springframework.restdocs.snippet.DocumentationWriter.TableWriter;
+import org.springframework.restdocs.snippet.SnippetWritingResultHandler;
+import org.springframework.restdocs.util.RequestCopier;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * A {@link SnippetWritingResultHandler} that produces a snippet documenting the
+ * performance characteristics of an API call. The size of the documented response is
+ * always included. When the handler has been configured with a {@link MockMvc} instance,
+ * the request is also replayed a number of times to measure the percentiles of its
+ * latency and the range of its response sizes. The request that is replayed is the one
+ * that was originally performed, before any request post-processors were applied to it,
+ * including its user principal, cookies and session. A replay fails if its response's
+ * status differs from that of the documented response.
+ * <p>
+ * Only the call to {@link MockMvc#perform(RequestBuilder)} is timed. Each replayed
+ * request is copied, and its response measured, outside of the timed section and the
+ * latencies are recorded in a preallocated array so that the measurements are not skewed
+ * by the instrumentation.
+ * 
+ * @author Andy Wilkinson
+ * @see StatisticsDocumentation
+ */
+public class StatisticsSnippetResultHandler extends SnippetWritingResultHandler {
+
+	private static final int[] PERCENTILES = { 50, 90, 99 };
+
+	private final MockMvc mockMvc;
+
+	private final int replays;
+
+	StatisticsSnippetResultHandler(String outputDir, MockMvc mockMvc, int replays) {
+		super(outputDir, "statistics");
+		this.mockMvc = mockMvc;
+		this.replays = replays;
+	}
+
+	@Override
+	protected void handle(MvcResult result, DocumentationWriter writer)
+			throws IOException {
+		final Statistics statistics = this.mockMvc == null ? new Statistics(
+				contentSize(result.getResponse())) : replay(RequestCopier
+				.getOriginal(result.getRequest()), result.getResponse().getStatus());
+		writer.table(new TableAction() {
+
+			@Override
+			public void perform(TableWriter tableWriter) throws IOException {
+				tableWriter.headers("Statistic", "Value");
+				if (statistics.latencies.length > 0) {
+					tableWriter.row("Requests",
+							Integer.toString(statistics.latencies.length));
+					for (int percentile : PERCENTILES) {
+						tableWriter.row("Latency (p" + percentile + ")",
+								formatLatency(statistics.percentile(percentile)));
+					}
+					tableWriter.row("Latency (max)",
+							formatLatency(statistics.percentile(100)));
+				}
+				tableWriter.row("Response size", formatSize(statistics.minimumSize,
+						statistics.maximumSize));
+			}
+
+		});
+	}
+
+	private Statistics replay(MockHttpServletRequest request, int status)
+			throws IOException {
+		long[] latencies = new long[this.replays];
+		int minimumSize = Integer.MAX_VALUE;
+		int maximumSize = 0;
+		for (int i = 0; i < this.replays; i++) {
+			RequestBuilder replay = new ReplayRequestBuilder(request);
+			MvcResult result;
+			long start = System.nanoTime();
+			try {
+				result = this.mockMvc.perform(replay).andReturn();
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException("Failed to replay request to '"
+						+ request.getRequestURI() + "'", ex);
+			}
+			latencies[i] = System.nanoTime() - start;
+			if (result.getResponse().getStatus() != status) {
+				throw new IllegalStateException("Replay of request to '"
+						+ request.getRequestURI() + "' responded with status "
+						+ result.getResponse().getStatus() + " rather than " + status);
+			}
+			int size = contentSize(result.getResponse());
+			minimumSize = Math.min(minimumSize, size);
+			maximumSize = Math.max(maximumSize, size);
+		}
+		return new Statistics(latencies, minimumSize, maximumSize);
+	}
+
+	private static int contentSize(MockHttpServletResponse response) throws IOException {
+		// A post-processed response's content is only available as a String
+		return response.getContentAsString().getBytes(
+				response.getCharacterEncoding()).length;
+	}
+
+	private static String formatLatency(long nanos) {
+		return String.format(Locale.ENGLISH, "%.3f ms", nanos / 1000000.0);
+	}
+
+	private static String formatSize(int minimumSize, int maximumSize) {
+		if (minimumSize == maximumSize) {
+			return minimumSize + " bytes";
+		}
+		return minimumSize + "-" + maximumSize + " bytes";
+	}
+
+	private static final class Statistics {
+
+		private final long[] latencies;
+
+		private final int minimumSize;
+
+		private final int maximumSize;
+
+		private Statistics(int size) {
+			this(new long[0], size, size);
+		}
+
+		private Statistics(long[] latencies, int minimumSize, int maximumSize) {
+			this.latencies = latencies;
+			Arrays.sort(this.latencies);
+			this.minimumSize = minimumSize;
+			this.maximumSize = maximumSize;
+		}
+
+		/**
+		 * Returns the given percentile of the latencies using the nearest-rank method.
+		 */
+		private long percentile(int percentile) {
+			int rank = (int) Math.ceil(percentile / 100.0 * this.latencies.length);
+			return this.latencies[Math.max(0, rank - 1)];
+		}
+
+	}
+
+	/**
+	 * Builds a copy of a documented request, marked as a replay, each time the request is
+	 * performed.
+	 */
+	private static final class ReplayRequestBuilder implements RequestBuilder {
+
+		private final MockHttpServletRequest copy;
+
+		private ReplayRequestBuilder(MockHttpServletRequest request) throws IOException {
+			this.copy = RequestCopier.copy(request);
+			StatisticsDocumentation.markAsReplay(this.copy);
+		}
+
+		@Override
+		public MockHttpServletRequest buildRequest(ServletContext servletContext) {
+			return this.copy;
+		}
+
+	}
+
+}
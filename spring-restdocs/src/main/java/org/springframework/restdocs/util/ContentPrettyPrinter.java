@@ -0,0 +1,174 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.util;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter.Indenter;
+
+/**
+ * Pretty prints the content of a request or response. JSON and XML content is supported.
+ * 
+ * @author Andy Wilkinson
+ */
+public abstract class ContentPrettyPrinter {
+
+	/**
+	 * The indent that is used by default to pretty print the objects in JSON content
+	 */
+	public static final String DEFAULT_INDENT = "  ";
+
+	private static final List<PrettyPrinter> PRETTY_PRINTERS = Collections
+			.unmodifiableList(Arrays.asList(new JsonPrettyPrinter(),
+					new XmlPrettyPrinter()));
+
+	private ContentPrettyPrinter() {
+
+	}
+
+	/**
+	 * Pretty prints the given {@code content}. If the content is neither JSON nor XML it
+	 * is returned unchanged.
+	 * 
+	 * @param content the content to pretty print
+	 * @return the pretty printed content
+	 */
+	public static String prettyPrint(String content) {
+		return prettyPrint(content, DEFAULT_INDENT);
+	}
+
+	/**
+	 * Pretty prints the given {@code content}, indenting each level of the objects in
+	 * JSON content with the given {@code indent}, for example {@code "\t"}. If the
+	 * content is neither JSON nor XML it is returned unchanged.
+	 * 
+	 * @param content the content to pretty print
+	 * @param indent the indent, made up of spaces and tabs
+	 * @return the pretty printed content
+	 */
+	public static String prettyPrint(String content, String indent) {
+		Assert.isTrue(indent != null && indent.matches("[ \t]*"),
+				"indent must only contain spaces and tabs");
+		if (StringUtils.hasText(content)) {
+			for (PrettyPrinter prettyPrinter : PRETTY_PRINTERS) {
+				try {
+					return prettyPrinter.prettyPrint(content, indent);
+				}
+				catch (Exception ex) {
+					// Continue
+				}
+			}
+		}
+		return content;
+	}
+
+	private interface PrettyPrinter {
+
+		String prettyPrint(String string, String indent) throws Exception;
+
+	}
+
+	private static final class XmlPrettyPrinter implements PrettyPrinter {
+
+		@Override
+		public String prettyPrint(String original, String indent) throws Exception {
+			Transformer transformer = TransformerFactory.newInstance().newTransformer();
+			transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+			transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount",
+					"4");
+			transformer.setOutputProperty(OutputKeys.DOCTYPE_PUBLIC, "yes");
+			StringWriter transformed = new StringWriter();
+			transformer.transform(new StreamSource(new StringReader(original)),
+					new StreamResult(transformed));
+			return transformed.toString();
+		}
+	}
+
+	/**
+	 * Pretty prints JSON in a single pass by copying each token from a parser to a
+	 * generator, without building a tree of the whole content.
+	 */
+	private static final class JsonPrettyPrinter implements PrettyPrinter {
+
+		private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+		@Override
+		public String prettyPrint(String original, String indent) throws IOException {
+			StringWriter prettyPrinted = new StringWriter(original.length());
+			try (JsonParser parser = JSON_FACTORY.createParser(original);
+					JsonGenerator generator = JSON_FACTORY.createGenerator(prettyPrinted)) {
+				generator.setPrettyPrinter(new DefaultPrettyPrinter()
+						.withObjectIndenter(new LineIndenter(indent)));
+				while (parser.nextToken() != null) {
+					generator.copyCurrentEvent(parser);
+				}
+			}
+			return prettyPrinted.toString();
+		}
+
+	}
+
+	/**
+	 * An {@link Indenter} that starts a new line and then repeats an indent once for each
+	 * level.
+	 */
+	private static final class LineIndenter implements Indenter {
+
+		private static final String LINE_SEPARATOR = System
+				.getProperty("line.separator");
+
+		private final String indent;
+
+		private LineIndenter(String indent) {
+			this.indent = indent;
+		}
+
+		@Override
+		public void writeIndentation(JsonGenerator generator, int level)
+				throws IOException {
+			generator.writeRaw(LINE_SEPARATOR);
+			for (int i = 0; i < level; i++) {
+				generator.writeRaw(this.indent);
+			}
+		}
+
+		@Override
+		public boolean isInline() {
+			return false;
+		}
+
+	}
+
+}
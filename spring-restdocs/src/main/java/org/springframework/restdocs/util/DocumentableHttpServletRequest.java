@@ -19,8 +19,10 @@ package org.springframework.restdocs.util;
 import static org.springframework.restdocs.util.IterableEnumeration.iterable;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.URLEncoder;
 import java.util.Map;
 
@@ -44,6 +46,8 @@ import org.springframework.web.multipart.MultipartFile;
  */
 public class DocumentableHttpServletRequest {
 
+	private static final int CONTENT_BUFFER_SIZE = 4096;
+
 	private final MockHttpServletRequest delegate;
 
 	/**
@@ -192,6 +196,28 @@ public class DocumentableHttpServletRequest {
 		return bodyWriter.toString();
 	}
 
+	/**
+	 * Writes the request's content to the given {@code writer}. The content is copied
+	 * directly from the request to the writer without creating an intermediate
+	 * {@code String}. The writer is not closed.
+	 * 
+	 * @param writer the writer to which the content should be written
+	 * @throws IOException if the content cannot be read or written
+	 */
+	public void writeContent(Writer writer) throws IOException {
+		Reader reader = this.delegate.getReader();
+		try {
+			char[] buffer = new char[CONTENT_BUFFER_SIZE];
+			int read;
+			while ((read = reader.read(buffer)) != -1) {
+				writer.write(buffer, 0, read);
+			}
+		}
+		finally {
+			reader.close();
+		}
+	}
+
 	/**
 	 * Returns the request's URI including its query string. The query string is
 	 * determined by calling {@link HttpServletRequest#getQueryString()}. If it's
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import org.springframework.util.Assert;
+
+/**
+ * A filter that identifies the headers that should be excluded from a request or
+ * response. Headers are identified case-insensitively, either by name, by a name
+ * containing {@code *} wildcards, or by a regular expression. The outcome for each header
+ * name is remembered, so filtering the headers of many requests or responses that use the
+ * same header names is cheap.
+ * 
+ * @author Andy Wilkinson
+ */
+public final class HeaderFilter {
+
+	private final Set<String> excludedNames;
+
+	private final List<Pattern> excludedPatterns;
+
+	private final ConcurrentMap<String, Boolean> outcomes = new ConcurrentHashMap<String, Boolean>();
+
+	private HeaderFilter(Set<String> excludedNames, List<Pattern> excludedPatterns) {
+		this.excludedNames = excludedNames;
+		this.excludedPatterns = excludedPatterns;
+	}
+
+	/**
+	 * Creates a filter that excludes the headers with the given {@code headerNames}. A
+	 * name may contain one or more {@code *} wildcards, each of which matches any
+	 * sequence of characters. For example, {@code X-B3-*} excludes every header whose
+	 * name begins with {@code X-B3-}.
+	 * 
+	 * @param headerNames the names of the headers to exclude
+	 * @return the filter
+	 */
+	public static HeaderFilter excluding(String... headerNames) {
+		Set<String> names = new HashSet<String>();
+		List<Pattern> patterns = new ArrayList<Pattern>();
+		for (String headerName : headerNames) {
+			Assert.notNull(headerName, "Header names must not be null");
+			if (headerName.indexOf('*') >= 0) {
+				patterns.add(wildcardPattern(headerName));
+			}
+			else {
+				names.add(headerName.toLowerCase(Locale.ENGLISH));
+			}
+		}
+		return new HeaderFilter(names, patterns);
+	}
+
+	/**
+	 * Creates a filter that excludes the headers with a name that matches any of the
+	 * given {@code patterns}. Patterns are matched case-insensitively against the whole of
+	 * a header's name.
+	 * 
+	 * @param patterns the patterns that identify the headers to exclude
+	 * @return the filter
+	 */
+	public static HeaderFilter excludingMatches(Pattern... patterns) {
+		List<Pattern> caseInsensitivePatterns = new ArrayList<Pattern>();
+		for (Pattern pattern : patterns) {
+			Assert.notNull(pattern, "Patterns must not be null");
+			caseInsensitivePatterns.add(Pattern.compile(pattern.pattern(),
+					pattern.flags() | Pattern.CASE_INSENSITIVE));
+		}
+		return new HeaderFilter(Collections.<String> emptySet(), caseInsensitivePatterns);
+	}
+
+	/**
+	 * Returns whether or not the header with the given {@code headerName} is excluded by
+	 * this filter.
+	 * 
+	 * @param headerName the name of the header
+	 * @return {@code true} if the header is excluded, otherwise {@code false}
+	 */
+	public boolean isExcluded(String headerName) {
+		if (headerName == null) {
+			return false;
+		}
+		Boolean outcome = this.outcomes.get(headerName);
+		if (outcome == null) {
+			outcome = determineOutcome(headerName);
+			this.outcomes.putIfAbsent(headerName, outcome);
+		}
+		return outcome;
+	}
+
+	private boolean determineOutcome(String headerName) {
+		if (this.excludedNames.contains(headerName.toLowerCase(Locale.ENGLISH))) {
+			return true;
+		}
+		for (Pattern pattern : this.excludedPatterns) {
+			if (pattern.matcher(headerName).matches()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Pattern wildcardPattern(String headerName) {
+		StringBuilder regex = new StringBuilder();
+		int start = 0;
+		int wildcard;
+		while ((wildcard = headerName.indexOf('*', start)) >= 0) {
+			if (wildcard > start) {
+				regex.append(Pattern.quote(headerName.substring(start, wildcard)));
+			}
+			regex.append(".*");
+			start = wildcard + 1;
+		}
+		if (start < headerName.length()) {
+			regex.append(Pattern.quote(headerName.substring(start)));
+		}
+		return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.util;
+
+import static org.springframework.restdocs.util.IterableEnumeration.iterable;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Creates copies of a {@link MockHttpServletRequest} that include everything about the
+ * request that is documented, and the user principal, cookies and session with which it
+ * was made. The session is shared rather than copied. A copy can be modified without
+ * affecting the request from which it was created, including by
+ * {@link #removeHeaders(MockHttpServletRequest, HeaderFilter) removing its headers}. Each
+ * copy remembers the {@link #getOriginal(MockHttpServletRequest) original request} from
+ * which it, or the request that it copies, was created.
+ * 
+ * @author Andy Wilkinson
+ */
+public abstract class RequestCopier {
+
+	private static final HeaderFilter NO_HEADERS = HeaderFilter.excluding();
+
+	private static final Field HEADERS_FIELD = findHeadersField();
+
+	private static final String ORIGINAL_REQUEST_ATTRIBUTE = RequestCopier.class
+			.getName() + ".original";
+
+	private RequestCopier() {
+
+	}
+
+	/**
+	 * Creates a copy of the given {@code request}.
+	 * 
+	 * @param request the request to copy
+	 * @return the copy
+	 * @throws IOException if the request's content cannot be copied
+	 */
+	public static MockHttpServletRequest copy(MockHttpServletRequest request)
+			throws IOException {
+		return copyExcludingHeaders(request, NO_HEADERS);
+	}
+
+	/**
+	 * Creates a copy of the given {@code request} that does not include any of the
+	 * headers with the given {@code headerNames}. Header names are case-insensitive.
+	 * 
+	 * @param request the request to copy
+	 * @param headerNames the names of the headers to exclude
+	 * @return the copy
+	 * @throws IOException if the request's content cannot be copied
+	 * @see HeaderFilter#excluding(String...)
+	 */
+	public static MockHttpServletRequest copyExcludingHeaders(
+			MockHttpServletRequest request, String... headerNames) throws IOException {
+		return copyExcludingHeaders(request, HeaderFilter.excluding(headerNames));
+	}
+
+	/**
+	 * Creates a copy of the given {@code request} that does not include any of the
+	 * headers that are excluded by the given {@code headerFilter}.
+	 * 
+	 * @param request the request to copy
+	 * @param headerFilter the filter that identifies the headers to exclude
+	 * @return the copy
+	 * @throws IOException if the request's content cannot be copied
+	 */
+	public static MockHttpServletRequest copyExcludingHeaders(
+			MockHttpServletRequest request, HeaderFilter headerFilter) throws IOException {
+		MockHttpServletRequest copy = createRequest(request);
+		copy.setMethod(request.getMethod());
+		copy.setScheme(request.getScheme());
+		copy.setServerName(request.getServerName());
+		copy.setServerPort(request.getServerPort());
+		copy.setProtocol(request.getProtocol());
+		copy.setContextPath(request.getContextPath());
+		copy.setServletPath(request.getServletPath());
+		copy.setPathInfo(request.getPathInfo());
+		copy.setRequestURI(request.getRequestURI());
+		copy.setQueryString(request.getQueryString());
+		for (String headerName : iterable(request.getHeaderNames())) {
+			if (!headerFilter.isExcluded(headerName)) {
+				for (String value : iterable(request.getHeaders(headerName))) {
+					copy.addHeader(headerName, value);
+				}
+			}
+		}
+		if (!ObjectUtils.nullSafeEquals(request.getCharacterEncoding(),
+				copy.getCharacterEncoding())) {
+			copy.setCharacterEncoding(request.getCharacterEncoding());
+		}
+		copy.setParameters(request.getParameterMap());
+		copy.setUserPrincipal(request.getUserPrincipal());
+		if (request.getCookies() != null) {
+			copy.setCookies(request.getCookies());
+		}
+		copy.setSession(request.getSession(false));
+		for (String attributeName : iterable(request.getAttributeNames())) {
+			copy.setAttribute(attributeName, request.getAttribute(attributeName));
+		}
+		copy.setAttribute(ORIGINAL_REQUEST_ATTRIBUTE, getOriginal(request));
+		if (request.getContentLength() >= 0) {
+			copy.setContent(StreamUtils.copyToByteArray(request.getInputStream()));
+		}
+		if (request instanceof MockMultipartHttpServletRequest) {
+			copyFiles((MockMultipartHttpServletRequest) request,
+					(MockMultipartHttpServletRequest) copy);
+		}
+		return copy;
+	}
+
+	/**
+	 * Returns the original request from which the given {@code request} was copied,
+	 * directly or by copying another copy. If the request is not a copy, the request
+	 * itself is returned.
+	 * 
+	 * @param request the request
+	 * @return the original request
+	 */
+	public static MockHttpServletRequest getOriginal(MockHttpServletRequest request) {
+		Object original = request.getAttribute(ORIGINAL_REQUEST_ATTRIBUTE);
+		return original != null ? (MockHttpServletRequest) original : request;
+	}
+
+	/**
+	 * Removes the headers that are excluded by the given {@code headerFilter} from the
+	 * given {@code request}. The request is modified in place so it should be a copy
+	 * rather than a request that has been sent.
+	 * 
+	 * @param request the request, typically a copy, from which headers are removed
+	 * @param headerFilter the filter that identifies the headers to remove
+	 */
+	public static void removeHeaders(MockHttpServletRequest request,
+			HeaderFilter headerFilter) {
+		// MockHttpServletRequest provides no API for removing a header
+		Map<?, ?> headers = (Map<?, ?>) ReflectionUtils.getField(HEADERS_FIELD, request);
+		List<String> removed = new ArrayList<String>();
+		for (String headerName : iterable(request.getHeaderNames())) {
+			if (headerFilter.isExcluded(headerName)) {
+				removed.add(headerName);
+			}
+		}
+		for (String headerName : removed) {
+			headers.remove(headerName);
+		}
+	}
+
+	private static Field findHeadersField() {
+		Field field = ReflectionUtils.findField(MockHttpServletRequest.class, "headers",
+				Map.class);
+		ReflectionUtils.makeAccessible(field);
+		return field;
+	}
+
+	private static MockHttpServletRequest createRequest(MockHttpServletRequest request) {
+		if (request instanceof MockMultipartHttpServletRequest) {
+			return new MockMultipartHttpServletRequest();
+		}
+		return new MockHttpServletRequest();
+	}
+
+	private static void copyFiles(MockMultipartHttpServletRequest request,
+			MockMultipartHttpServletRequest copy) {
+		for (Entry<String, List<MultipartFile>> entry : request.getMultiFileMap()
+				.entrySet()) {
+			for (MultipartFile file : entry.getValue()) {
+				copy.addFile(file);
+			}
+		}
+	}
+
+}
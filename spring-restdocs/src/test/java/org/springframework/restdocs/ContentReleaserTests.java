@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.restdocs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.springframework.restdocs.test.StubMvcResult.result;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Tests for {@link ContentReleaser}
+ * 
+ * @author Andy Wilkinson
+ */
+public class ContentReleaserTests {
+
+	@Test
+	public void requestContentIsReleased() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setContent("content".getBytes());
+		ContentReleaser.release(result(request));
+		assertThat(request.getContentLength(), is(equalTo(-1)));
+	}
+
+	@Test
+	public void responseContentBufferIsReclaimable() throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		WeakReference<ByteArrayOutputStream> buffer = writeLargeContent(response);
+		ContentReleaser.release(result(response));
+		for (int i = 0; i < 10 && buffer.get() != null; i++) {
+			System.gc();
+		}
+		assertThat(buffer.get(), is(nullValue()));
+		assertThat(response.getContentAsByteArray().length, is(equalTo(0)));
+	}
+
+	@Test
+	public void committedStateIsUnchanged() throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.getWriter().write("content");
+		response.setCommitted(true);
+		ContentReleaser.release(result(response));
+		assertThat(response.isCommitted(), is(true));
+		assertThat(response.getContentAsString(), is(equalTo("")));
+	}
+
+	@Test
+	public void responseCanBeWrittenOnceReleased() throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.getWriter().write("content");
+		ContentReleaser.release(result(response));
+		response.getOutputStream().write("alpha".getBytes());
+		response.getWriter().write("bravo");
+		response.getWriter().flush();
+		assertThat(response.getContentAsString(), is(equalTo("alphabravo")));
+	}
+
+	private WeakReference<ByteArrayOutputStream> writeLargeContent(
+			MockHttpServletResponse response) throws IOException {
+		char[] content = new char[1024 * 1024];
+		Arrays.fill(content, 'a');
+		response.getWriter().write(content);
+		response.getWriter().flush();
+		Field field = ReflectionUtils.findField(MockHttpServletResponse.class, "content");
+		ReflectionUtils.makeAccessible(field);
+		return new WeakReference<ByteArrayOutputStream>(
+				(ByteArrayOutputStream) ReflectionUtils.getField(field, response));
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.springframework.restdocs.test.StubMvcResult.result;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.restdocs.ResponseModifier.ResponseModifyingRestDocumentationResultHandler;
+import org.springframework.restdocs.request.RequestPostProcessor;
+import org.springframework.restdocs.request.RequestPostProcessors;
+import org.springframework.restdocs.response.ResponsePostProcessor;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Tests for {@link RequestModifier}
+ * 
+ * @author Andy Wilkinson
+ */
+public class RequestModifierTests {
+
+	@Test
+	public void postProcessorsAreAppliedToACopyOfTheRequest() throws Exception {
+		RequestPostProcessor first = mock(RequestPostProcessor.class);
+		RequestPostProcessor second = mock(RequestPostProcessor.class);
+
+		MockHttpServletRequest original = new MockHttpServletRequest("GET", "/foo");
+		MockHttpServletRequest afterFirst = new MockHttpServletRequest();
+		MockHttpServletRequest afterSecond = new MockHttpServletRequest();
+
+		given(first.postProcess(any(MockHttpServletRequest.class))).willReturn(
+				afterFirst);
+		given(second.postProcess(afterFirst)).willReturn(afterSecond);
+
+		MvcResult result = postProcess(new RequestModifier(first, second),
+				result(original));
+		assertThat(result.getRequest(), is(sameInstance(afterSecond)));
+	}
+
+	@Test
+	public void originalRequestIsNotPassedToPostProcessors() throws Exception {
+		MockHttpServletRequest original = new MockHttpServletRequest("GET", "/foo");
+		original.addHeader("a", "alpha");
+		final MockHttpServletRequest[] processed = new MockHttpServletRequest[1];
+		postProcess(new RequestModifier(new RequestPostProcessor() {
+
+			@Override
+			public MockHttpServletRequest postProcess(MockHttpServletRequest request) {
+				processed[0] = request;
+				return request;
+			}
+
+		}), result(original));
+		assertThat(processed[0], is(not(sameInstance(original))));
+		assertThat(processed[0].getRequestURI(), is(equalTo("/foo")));
+		assertThat(processed[0].getHeader("a"), is(equalTo("alpha")));
+	}
+
+	@Test
+	public void requestIsCopiedOnceForAllOfThePostProcessors() throws Exception {
+		MockHttpServletRequest original = new MockHttpServletRequest("POST", "/foo");
+		original.addHeader("a", "alpha");
+		original.addHeader("Content-Length", 7);
+		original.setContent("{\"a\":5}".getBytes());
+		final List<MockHttpServletRequest> processed = new ArrayList<MockHttpServletRequest>();
+		RequestPostProcessor recorder = new RequestPostProcessor() {
+
+			@Override
+			public MockHttpServletRequest postProcess(MockHttpServletRequest request) {
+				processed.add(request);
+				return request;
+			}
+
+		};
+		MvcResult result = postProcess(new RequestModifier(recorder,
+				RequestPostProcessors.removeHeaders("a"), recorder,
+				RequestPostProcessors.prettyPrintContent(), recorder), result(original));
+		assertThat(processed.size(), is(equalTo(3)));
+		for (MockHttpServletRequest request : processed) {
+			assertThat(request, is(sameInstance(result.getRequest())));
+		}
+		assertThat(result.getRequest().getHeader("a"), is(nullValue()));
+		assertThat(original.getHeader("a"), is(equalTo("alpha")));
+		assertThat(original.getContentLength(), is(equalTo(7)));
+	}
+
+	@Test
+	public void responseCanAlsoBeModified() throws Exception {
+		ResponsePostProcessor responsePostProcessor = mock(ResponsePostProcessor.class);
+		MockHttpServletResponse original = new MockHttpServletResponse();
+		MockHttpServletResponse modified = new MockHttpServletResponse();
+		given(responsePostProcessor.postProcess(original)).willReturn(modified);
+
+		RestDocumentationResultHandler resultHandler = new RequestModifier()
+				.andModifyResponseTo(responsePostProcessor).andDocument("test");
+		assertThat(((ResponseModifyingRestDocumentationResultHandler) resultHandler)
+				.postProcess(result(original)).getResponse(), is(sameInstance(modified)));
+	}
+
+	private MvcResult postProcess(RequestModifier modifier, MvcResult result)
+			throws Exception {
+		return ((ResponseModifyingRestDocumentationResultHandler) modifier
+				.andDocument("test")).postProcess(result);
+	}
+
+}
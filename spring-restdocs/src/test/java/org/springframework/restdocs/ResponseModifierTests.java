@@ -53,7 +53,7 @@ public class ResponseModifierTests {
 		assertThat(
 				afterSecond,
 				is(equalTo(((ResponseModifyingRestDocumentationResultHandler) resultHandler)
-						.postProcessResponse(result(original)).getResponse())));
+						.postProcess(result(original)).getResponse())));
 	}
 
 }
@@ -16,24 +16,33 @@
 
 package org.springframework.restdocs;
 
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.springframework.restdocs.RestDocumentation.document;
+import static org.springframework.restdocs.RestDocumentation.documentEach;
 import static org.springframework.restdocs.RestDocumentation.modifyResponseTo;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.response.ResponsePostProcessors.maskLinks;
 import static org.springframework.restdocs.response.ResponsePostProcessors.prettyPrintContent;
 import static org.springframework.restdocs.response.ResponsePostProcessors.removeHeaders;
 import static org.springframework.restdocs.response.ResponsePostProcessors.replacePattern;
 import static org.springframework.restdocs.test.SnippetMatchers.httpResponse;
 import static org.springframework.restdocs.test.SnippetMatchers.snippet;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.File;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
 
 import org.junit.After;
@@ -50,10 +59,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.restdocs.RestDocumentationIntegrationTests.TestConfiguration;
 import org.springframework.restdocs.config.RestDocumentationConfigurer;
 import org.springframework.restdocs.hypermedia.Link;
+import org.springframework.restdocs.snippet.SnippetGenerationException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.util.FileSystemUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -140,6 +153,164 @@ public class RestDocumentationIntegrationTests {
 				"http-response.adoc", "curl-request.adoc");
 	}
 
+	@Test
+	public void statistics() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer())
+				.alwaysDo(document("always-documented")).build();
+
+		ResultActions actions = mockMvc.perform(
+				get("/").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+		FileSystemUtils.deleteRecursively(new File(
+				"build/generated-snippets/always-documented"));
+		actions.andDo(document("statistics").withStatistics(mockMvc, 3));
+		assertExpectedSnippetFilesExist(new File("build/generated-snippets/statistics"),
+				"http-request.adoc", "http-response.adoc", "curl-request.adoc",
+				"statistics.adoc");
+		assertThat(new File("build/generated-snippets/always-documented").exists(),
+				is(false));
+	}
+
+	@Test
+	public void configuredDefaultSnippets() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders
+				.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer().snippets().withDefaults(
+						DefaultSnippet.HTTP_RESPONSE)).build();
+
+		mockMvc.perform(get("/").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andDo(document("configured-defaults"));
+		assertExpectedSnippetFiles(new File(
+				"build/generated-snippets/configured-defaults"), "http-response.adoc");
+	}
+
+	@Test
+	public void defaultSnippetsOverriddenForOneCall() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer()).build();
+
+		mockMvc.perform(get("/").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andDo(document("overridden-defaults").withDefaultSnippets(
+						DefaultSnippet.CURL_REQUEST, DefaultSnippet.HTTP_REQUEST));
+		assertExpectedSnippetFiles(new File(
+				"build/generated-snippets/overridden-defaults"), "curl-request.adoc",
+				"http-request.adoc");
+	}
+
+	@Test
+	public void batch() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer()).build();
+
+		List<RequestBuilder> requests = Arrays.<RequestBuilder> asList(
+				get("/").accept(MediaType.APPLICATION_JSON), get("/").accept(
+						MediaType.APPLICATION_JSON), get("/").accept(
+						MediaType.APPLICATION_JSON));
+		List<ResultActions> actions = documentEach(
+				mockMvc,
+				requests,
+				modifyResponseTo(removeHeaders("a")).andDocument("batch")
+						.withDefaultSnippets(DefaultSnippet.HTTP_RESPONSE)
+						.withResponseFields(
+								fieldWithPath("a").description("A"),
+								fieldWithPath("links").description("Links")),
+				new OutputDirectoryNamer() {
+
+					@Override
+					public String name(String outputDir, int index,
+							RequestBuilder request) {
+						return outputDir + "-" + index;
+					}
+
+				});
+
+		assertThat(actions.size(), is(equalTo(3)));
+		for (int i = 0; i < 3; i++) {
+			actions.get(i).andExpect(status().isOk());
+			File directory = new File("build/generated-snippets/batch-" + i);
+			assertExpectedSnippetFiles(directory, "http-response.adoc",
+					"response-fields.adoc");
+			assertThat(new File(directory, "http-response.adoc"), is(snippet()
+					.withContents(
+							httpResponse(HttpStatus.OK).header("Content-Type",
+									"application/json").content(
+									"{\"a\":\"alpha\",\"links\":[{\"rel\":\"rel\","
+											+ "\"href\":\"href\"}]}"))));
+		}
+		assertThat(new File("build/generated-snippets/batch").exists(), is(false));
+	}
+
+	@Test
+	public void asyncResultIsNotDocumentedBeforeItIsDispatched() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer()).build();
+
+		MvcResult result = mockMvc.perform(get("/async")).andReturn();
+		document("async-undispatched").handle(result);
+		assertThat(new File("build/generated-snippets/async-undispatched").exists(),
+				is(false));
+	}
+
+	@Test
+	public void asyncResultDocumentedUsingAlwaysDo() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer())
+				.alwaysDo(document("async-always")).build();
+
+		MvcResult result = mockMvc.perform(get("/async"))
+				.andExpect(request().asyncStarted()).andReturn();
+		assertThat(new File("build/generated-snippets/async-always").exists(), is(false));
+		result.getAsyncResult();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+		assertThat(new File("build/generated-snippets/async-always/http-response.adoc"),
+				is(snippet().withContents(
+						httpResponse(HttpStatus.OK).header("Content-Type",
+								"application/json").content("{\"a\":\"alpha\"}"))));
+	}
+
+	@Test
+	public void asyncDispatchedResult() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer()).build();
+
+		MvcResult result = mockMvc.perform(get("/async"))
+				.andExpect(request().asyncStarted()).andReturn();
+		result.getAsyncResult();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andDo(document("async"));
+		assertThat(new File("build/generated-snippets/async/http-response.adoc"),
+				is(snippet().withContents(
+						httpResponse(HttpStatus.OK).header("Content-Type",
+								"application/json").content("{\"a\":\"alpha\"}"))));
+	}
+
+	@Test
+	public void batchWithAsyncResults() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer()).build();
+
+		List<ResultActions> actions = documentEach(mockMvc,
+				Arrays.asList(get("/async"), get("/async")),
+				document("async-batch").withDefaultSnippets(DefaultSnippet.HTTP_RESPONSE),
+				new OutputDirectoryNamer() {
+
+					@Override
+					public String name(String outputDir, int index,
+							RequestBuilder request) {
+						return outputDir + "-" + index;
+					}
+
+				});
+		for (int i = 0; i < 2; i++) {
+			actions.get(i).andExpect(status().isOk());
+			assertThat(new File("build/generated-snippets/async-batch-" + i
+					+ "/http-response.adoc"), is(snippet().withContents(
+					httpResponse(HttpStatus.OK).header("Content-Type",
+							"application/json").content("{\"a\":\"alpha\"}"))));
+		}
+	}
+
 	@Test
 	public void postProcessedResponse() throws Exception {
 		MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
@@ -175,6 +346,68 @@ public class RestDocumentationIntegrationTests {
 										+ " \"...\"%n  } ]%n}")))));
 	}
 
+	@Test
+	public void contentReleasedAfterDocumentation() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders
+				.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer().payloads()
+						.withContentReleasedAfterDocumentation(true)).build();
+
+		MvcResult result = mockMvc.perform(get("/").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andDo(document("released")).andReturn();
+		assertThat(result.getResponse().getContentAsString(), is(equalTo("")));
+		assertThat(new File("build/generated-snippets/released/http-response.adoc"),
+				is(snippet().withContents(
+						httpResponse(HttpStatus.OK)
+								.header("a", "alpha")
+								.header("Content-Type", "application/json")
+								.content(
+										"{\"a\":\"alpha\",\"links\":[{\"rel\":\"rel\","
+												+ "\"href\":\"href\"}]}"))));
+	}
+
+	@Test
+	public void contentRetainedWhenDocumentationFails() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders
+				.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer().payloads()
+						.withContentReleasedAfterDocumentation(true)).build();
+
+		MvcResult result = mockMvc.perform(get("/").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andReturn();
+		try {
+			document("released-failure").withResponseFields(
+					fieldWithPath("a").description("A")).handle(result);
+			fail();
+		}
+		catch (SnippetGenerationException ex) {
+			assertThat(ex.getMessage(), containsString("links"));
+		}
+		assertThat(result.getResponse().getContentAsString(),
+				is(equalTo("{\"a\":\"alpha\",\"links\":[{\"rel\":\"rel\","
+						+ "\"href\":\"href\"}]}")));
+	}
+
+	@Test
+	public void releasingContentDoesNotChangeCommittedState() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders
+				.webAppContextSetup(this.context)
+				.apply(new RestDocumentationConfigurer().payloads()
+						.withContentReleasedAfterDocumentation(true)).build();
+
+		MvcResult result = mockMvc.perform(get("/").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andReturn();
+		result.getResponse().setCommitted(true);
+		document("released-committed").handle(result);
+		assertThat(result.getResponse().getContentAsString(), is(equalTo("")));
+		assertThat(result.getResponse().isCommitted(), is(true));
+	}
+
+	private void assertExpectedSnippetFiles(File directory, String... snippets) {
+		assertExpectedSnippetFilesExist(directory, snippets);
+		assertThat(directory.list().length, is(equalTo(snippets.length)));
+	}
+
 	private void assertExpectedSnippetFilesExist(File directory, String... snippets) {
 		for (String snippet : snippets) {
 			assertTrue(new File(directory, snippet).isFile());
@@ -205,6 +438,20 @@ public class RestDocumentationIntegrationTests {
 			return new ResponseEntity<Map<String, Object>>(response, headers,
 					HttpStatus.OK);
 		}
+
+		@RequestMapping(value = "/async", produces = MediaType.APPLICATION_JSON_VALUE)
+		public Callable<Map<String, Object>> async() {
+			return new Callable<Map<String, Object>>() {
+
+				@Override
+				public Map<String, Object> call() {
+					Map<String, Object> response = new HashMap<>();
+					response.put("a", "alpha");
+					return response;
+				}
+
+			};
+		}
 	}
 
 }
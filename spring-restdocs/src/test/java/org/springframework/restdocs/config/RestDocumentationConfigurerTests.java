@@ -19,14 +19,24 @@ package org.springframework.restdocs.config;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
 import java.net.URI;
+import java.util.Arrays;
 
 import org.junit.Test;
 import org.springframework.hateoas.mvc.BasicLinkBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.restdocs.DefaultSnippet;
+import org.springframework.restdocs.hypermedia.LinkExtractor;
+import org.springframework.restdocs.hypermedia.LinkExtractors;
+import org.springframework.restdocs.payload.PayloadBudget;
+import org.springframework.restdocs.payload.PayloadDocumentation;
+import org.springframework.restdocs.snippet.SnippetFormats;
 import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -150,6 +160,163 @@ public class RestDocumentationConfigurerTests {
 		}
 	}
 
+	@Test
+	public void customSnippetFormatsAreAppliedToTheContext() {
+		RestDocumentationContext.establishContext(null);
+		try {
+			new RestDocumentationConfigurer().snippets()
+					.withFormats(SnippetFormats.asciidoctor(), SnippetFormats.markdown())
+					.beforeMockMvcCreated(null, null).postProcessRequest(this.request);
+			assertThat(RestDocumentationContext.currentContext().getSnippetFormats(),
+					is(equalTo(Arrays.asList(SnippetFormats.asciidoctor(),
+							SnippetFormats.markdown()))));
+		}
+		finally {
+			RestDocumentationContext.clearContext();
+		}
+	}
+
+	@Test
+	public void contentReleaseIsAppliedToTheContext() {
+		RestDocumentationContext.establishContext(null);
+		try {
+			new RestDocumentationConfigurer().payloads()
+					.withContentReleasedAfterDocumentation(true)
+					.beforeMockMvcCreated(null, null).postProcessRequest(this.request);
+			assertThat(RestDocumentationContext.currentContext()
+					.isContentReleasedAfterDocumentation(), is(true));
+		}
+		finally {
+			RestDocumentationContext.clearContext();
+		}
+	}
+
+	@Test
+	public void responseBudgetIsAppliedToTheContext() {
+		RestDocumentationContext.establishContext(null);
+		try {
+			PayloadBudget budget = PayloadDocumentation.payloadBudget().maxSize(1024);
+			new RestDocumentationConfigurer().payloads().withResponseBudget(budget)
+					.beforeMockMvcCreated(null, null).postProcessRequest(this.request);
+			assertThat(RestDocumentationContext.currentContext().getResponseBudget(),
+					is(sameInstance(budget)));
+		}
+		finally {
+			RestDocumentationContext.clearContext();
+		}
+	}
+
+	@Test
+	public void customDefaultSnippetsAreAppliedToTheContext() {
+		RestDocumentationContext.establishContext(null);
+		try {
+			new RestDocumentationConfigurer().snippets()
+					.withDefaults(DefaultSnippet.HTTP_REQUEST)
+					.beforeMockMvcCreated(null, null).postProcessRequest(this.request);
+			assertThat(RestDocumentationContext.currentContext().getDefaultSnippets(),
+					contains(DefaultSnippet.HTTP_REQUEST));
+		}
+		finally {
+			RestDocumentationContext.clearContext();
+		}
+	}
+
+	@Test
+	public void defaultParallelTraversalThresholdIsAppliedToTheContext() {
+		RestDocumentationContext.establishContext(null);
+		try {
+			new RestDocumentationConfigurer().beforeMockMvcCreated(null, null)
+					.postProcessRequest(this.request);
+			assertThat(RestDocumentationContext.currentContext()
+					.getParallelTraversalThreshold(), is(equalTo(10000)));
+		}
+		finally {
+			RestDocumentationContext.clearContext();
+		}
+	}
+
+	@Test
+	public void customParallelTraversalThresholdIsAppliedToTheContext() {
+		RestDocumentationContext.establishContext(null);
+		try {
+			new RestDocumentationConfigurer().payloads()
+					.withParallelTraversalThreshold(500)
+					.beforeMockMvcCreated(null, null).postProcessRequest(this.request);
+			assertThat(RestDocumentationContext.currentContext()
+					.getParallelTraversalThreshold(), is(equalTo(500)));
+		}
+		finally {
+			RestDocumentationContext.clearContext();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parallelTraversalThresholdMustBeGreaterThanZero() {
+		new RestDocumentationConfigurer().payloads().withParallelTraversalThreshold(0);
+	}
+
+	@Test
+	public void undocumentedPayloadIsNotIncludedInFailuresByDefault() {
+		RestDocumentationContext.establishContext(null);
+		try {
+			new RestDocumentationConfigurer().beforeMockMvcCreated(null, null)
+					.postProcessRequest(this.request);
+			assertThat(RestDocumentationContext.currentContext()
+					.isUndocumentedPayloadIncludedInFailures(), is(false));
+		}
+		finally {
+			RestDocumentationContext.clearContext();
+		}
+	}
+
+	@Test
+	public void undocumentedPayloadCanBeIncludedInFailures() {
+		RestDocumentationContext.establishContext(null);
+		try {
+			new RestDocumentationConfigurer().payloads()
+					.withUndocumentedPayloadInFailures(true)
+					.beforeMockMvcCreated(null, null).postProcessRequest(this.request);
+			assertThat(RestDocumentationContext.currentContext()
+					.isUndocumentedPayloadIncludedInFailures(), is(true));
+		}
+		finally {
+			RestDocumentationContext.clearContext();
+		}
+	}
+
+	@Test
+	public void noLinkExtractorRegistryByDefault() {
+		RestDocumentationContext.establishContext(null);
+		try {
+			new RestDocumentationConfigurer().beforeMockMvcCreated(null, null)
+					.postProcessRequest(this.request);
+			assertThat(RestDocumentationContext.currentContext()
+					.getLinkExtractorRegistry(), is(nullValue()));
+		}
+		finally {
+			RestDocumentationContext.clearContext();
+		}
+	}
+
+	@Test
+	public void customLinkExtractorIsAppliedToTheContext() {
+		RestDocumentationContext.establishContext(null);
+		try {
+			LinkExtractor extractor = LinkExtractors.halLinks();
+			MediaType mediaType = MediaType.parseMediaType("application/vnd.acme+json");
+			new RestDocumentationConfigurer().hypermedia()
+					.withLinkExtractor(mediaType, extractor)
+					.beforeMockMvcCreated(null, null).postProcessRequest(this.request);
+			assertThat(RestDocumentationContext.currentContext()
+					.getLinkExtractorRegistry()
+					.extractorForContentType("application/vnd.acme+json"),
+					is(sameInstance(extractor)));
+		}
+		finally {
+			RestDocumentationContext.clearContext();
+		}
+	}
+
 	private void assertUriConfiguration(String scheme, String host, int port) {
 		assertEquals(scheme, this.request.getScheme());
 		assertEquals(host, this.request.getServerName());
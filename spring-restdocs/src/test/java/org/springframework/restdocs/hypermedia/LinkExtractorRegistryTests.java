@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.hypermedia;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.restdocs.hypermedia.LinkExtractors.AtomLinkExtractor;
+import org.springframework.restdocs.hypermedia.LinkExtractors.HalLinkExtractor;
+
+/**
+ * Tests for {@link LinkExtractorRegistry}.
+ * 
+ * @author Andy Wilkinson
+ */
+public class LinkExtractorRegistryTests {
+
+	private final LinkExtractorRegistry registry = new LinkExtractorRegistry();
+
+	@Test
+	public void defaultExtractors() {
+		assertThat(this.registry.extractorForContentType("application/json"),
+				instanceOf(AtomLinkExtractor.class));
+		assertThat(this.registry.extractorForContentType("application/hal+json"),
+				instanceOf(HalLinkExtractor.class));
+	}
+
+	@Test
+	public void contentTypeWithProfileYieldsExtractor() {
+		assertThat(this.registry.extractorForContentType(
+				"application/hal+json;profile=\"http://example.com/profile\""),
+				instanceOf(HalLinkExtractor.class));
+	}
+
+	@Test
+	public void unknownContentTypeYieldsNullExtractor() {
+		assertThat(this.registry.extractorForContentType("text/plain"), nullValue());
+		assertThat(this.registry.extractorForContentType("text/plain"), nullValue());
+	}
+
+	@Test
+	public void extractorForContentTypeIsReused() {
+		assertThat(this.registry.extractorForContentType("application/json"),
+				is(sameInstance(this.registry
+						.extractorForContentType("application/json"))));
+	}
+
+	@Test
+	public void customExtractorForVendorMediaType() {
+		LinkExtractor extractor = LinkExtractors.halLinks();
+		this.registry.register(MediaType.parseMediaType("application/vnd.acme+json"),
+				extractor);
+		assertThat(this.registry.extractorForContentType("application/vnd.acme+json"),
+				is(sameInstance(extractor)));
+		assertThat(this.registry.extractorForContentType("application/json"),
+				instanceOf(AtomLinkExtractor.class));
+	}
+
+	@Test
+	public void registrationForUnknownContentTypeIsUsed() {
+		assertThat(this.registry.extractorForContentType("text/plain"), nullValue());
+		LinkExtractor extractor = LinkExtractors.halLinks();
+		this.registry.register(MediaType.TEXT_PLAIN, extractor);
+		assertThat(this.registry.extractorForContentType("text/plain"),
+				is(sameInstance(extractor)));
+	}
+
+	@Test
+	public void laterRegistrationTakesPrecedence() {
+		assertThat(this.registry.extractorForContentType("application/json"),
+				instanceOf(AtomLinkExtractor.class));
+		LinkExtractor extractor = LinkExtractors.halLinks();
+		this.registry.register(MediaType.APPLICATION_JSON, extractor);
+		assertThat(this.registry.extractorForContentType("application/json"),
+				is(sameInstance(extractor)));
+	}
+
+}
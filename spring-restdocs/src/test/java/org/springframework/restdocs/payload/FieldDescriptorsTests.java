@@ -0,0 +1,76 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.payload;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link FieldDescriptors}
+ * 
+ * @author Andy Wilkinson
+ */
+public class FieldDescriptorsTests {
+
+	@Test
+	public void pathsAreCompiledOnce() {
+		FieldDescriptors descriptors = new FieldDescriptors(Arrays.asList(fieldWithPath(
+				"a[].b").description("one")));
+		FieldDescriptor descriptor = descriptors.getDescriptors().iterator().next();
+		assertThat(descriptors.getFieldPath(descriptor),
+				is(sameInstance(descriptors.getFieldPaths().get(0))));
+		assertThat(descriptors.getFieldPath(descriptor).getSegments(),
+				is(equalTo(Arrays.asList("a", "[]", "b"))));
+	}
+
+	@Test
+	public void laterChangesToDescriptorsHaveNoEffect() {
+		FieldDescriptor descriptor = fieldWithPath("a").description("one");
+		FieldDescriptors descriptors = new FieldDescriptors(Arrays.asList(descriptor));
+		descriptor.description("two").type(FieldType.STRING).optional();
+		FieldDescriptor compiled = descriptors.getDescriptors().iterator().next();
+		assertThat(compiled.getDescription(), is(equalTo("one")));
+		assertThat(compiled.getType(), is(equalTo(null)));
+		assertThat(compiled.isOptional(), is(false));
+	}
+
+	@Test
+	public void laterDescriptorWithTheSamePathTakesPrecedence() {
+		FieldDescriptors descriptors = new FieldDescriptors(Arrays.asList(
+				fieldWithPath("a").description("one"),
+				fieldWithPath("b").description("two"),
+				fieldWithPath("a").description("three")));
+		Iterator<FieldDescriptor> iterator = descriptors.getDescriptors().iterator();
+		assertThat(iterator.next().getDescription(), is(equalTo("three")));
+		assertThat(iterator.next().getDescription(), is(equalTo("two")));
+		assertThat(descriptors.getFieldPaths().size(), is(equalTo(2)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void descriptorWithoutADescriptionIsRejected() {
+		new FieldDescriptors(Arrays.asList(fieldWithPath("a")));
+	}
+
+}
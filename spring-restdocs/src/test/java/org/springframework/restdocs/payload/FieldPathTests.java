@@ -16,6 +16,7 @@
 
 package org.springframework.restdocs.payload;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
@@ -70,6 +71,26 @@ public class FieldPathTests {
 		assertFalse(FieldPath.compile("a[].b").isPrecise());
 	}
 
+	@Test
+	public void wildcardArrayIsNotPrecise() {
+		assertFalse(FieldPath.compile("a[*]").isPrecise());
+	}
+
+	@Test
+	public void indexedArrayItemIsPrecise() {
+		assertTrue(FieldPath.compile("a[0]").isPrecise());
+	}
+
+	@Test
+	public void fieldBeneathAnIndexedArrayItemIsPrecise() {
+		assertTrue(FieldPath.compile("a[3].b").isPrecise());
+	}
+
+	@Test
+	public void indexedItemBeneathAnArrayIsNotPrecise() {
+		assertFalse(FieldPath.compile("a[][1]").isPrecise());
+	}
+
 	@Test
 	public void compilationOfSingleElementPath() {
 		assertThat(FieldPath.compile("a").getSegments(), contains("a"));
@@ -104,10 +125,77 @@ public class FieldPathTests {
 				contains("a", "[]", "b", "[]", "c"));
 	}
 
+	@Test
+	public void compilationOfPathWithIndexedArrays() {
+		FieldPath path = FieldPath.compile("a[0].b[12].c");
+		assertThat(path.getSegments(), contains("a", "[0]", "b", "[12]", "c"));
+		assertThat(path.getArrayIndex(1), is(0));
+		assertThat(path.getArrayIndex(3), is(12));
+	}
+
+	@Test
+	public void wildcardArraySegmentsAreNotIndexed() {
+		FieldPath path = FieldPath.compile("a[].b[*]");
+		assertTrue(path.isArraySegment(1));
+		assertThat(path.getArrayIndex(1), is(-1));
+		assertTrue(path.isArraySegment(3));
+		assertThat(path.getArrayIndex(3), is(-1));
+		assertFalse(path.isArraySegment(2));
+	}
+
 	@Test
 	public void compilationOfPathStartingWithAnArray() {
 		assertThat(FieldPath.compile("[]a.b.c").getSegments(),
 				contains("[]", "a", "b", "c"));
 	}
 
+	@Test
+	public void wildcardKeyIsNotPrecise() {
+		assertFalse(FieldPath.compile("a.*.b").isPrecise());
+	}
+
+	@Test
+	public void recursiveDescentIsNotPrecise() {
+		assertFalse(FieldPath.compile("a..b").isPrecise());
+	}
+
+	@Test
+	public void compilationOfPathWithWildcardKey() {
+		FieldPath path = FieldPath.compile("a.*.b");
+		assertThat(path.getSegments(), contains("a", "*", "b"));
+		assertTrue(path.isWildcardKeySegment(1));
+		assertFalse(path.isArraySegment(1));
+	}
+
+	@Test
+	public void compilationOfPathWithLeadingRecursiveDescent() {
+		FieldPath path = FieldPath.compile("..id");
+		assertThat(path.getSegments(), contains("..", "id"));
+		assertTrue(path.isRecursiveDescentSegment(0));
+	}
+
+	@Test
+	public void compilationOfPathWithRecursiveDescent() {
+		FieldPath path = FieldPath.compile("a..b.c");
+		assertThat(path.getSegments(), contains("a", "..", "b", "c"));
+		assertTrue(path.isRecursiveDescentSegment(1));
+		assertFalse(path.isRecursiveDescentSegment(2));
+	}
+
+	@Test
+	public void compilationOfPathWithRecursiveDescentBeforeArray() {
+		assertThat(FieldPath.compile("a..[].b").getSegments(),
+				contains("a", "..", "[]", "b"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void recursiveDescentMustBeFollowedByASegment() {
+		FieldPath.compile("a..");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void pathCannotContainMoreThanOneRecursiveDescent() {
+		FieldPath.compile("..a..b");
+	}
+
 }
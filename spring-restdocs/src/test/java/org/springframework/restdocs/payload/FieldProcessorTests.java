@@ -17,13 +17,16 @@
 package org.springframework.restdocs.payload;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertThat;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -129,6 +132,96 @@ public class FieldProcessorTests {
 						Arrays.asList(4))));
 	}
 
+	@Test
+	public void extractIndexedItemInArray() {
+		Map<String, Object> payload = new HashMap<>();
+		List<Map<String, String>> alpha = Arrays.asList(createEntry("id:1"),
+				createEntry("id:2"));
+		payload.put("a", alpha);
+		assertThat(this.fieldProcessor.extract(FieldPath.compile("a[1]"), payload),
+				equalTo((Object) alpha.get(1)));
+	}
+
+	@Test
+	public void extractFromIndexedItemInArray() {
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("a", Arrays.asList(createEntry("id:1"), createEntry("id:2")));
+		assertThat(this.fieldProcessor.extract(FieldPath.compile("a[1].id"), payload),
+				equalTo((Object) "2"));
+	}
+
+	@Test
+	public void extractFromIndexedItemsInNestedArray() {
+		Map<String, Object> payload = new HashMap<>();
+		Map<String, String> entry1 = createEntry("id:1");
+		Map<String, String> entry2 = createEntry("id:2");
+		Map<String, String> entry3 = createEntry("id:3");
+		List<List<Map<String, String>>> alpha = Arrays.asList(
+				Arrays.asList(entry1, entry2), Arrays.asList(entry3));
+		payload.put("a", alpha);
+		assertThat(
+				this.fieldProcessor.extract(FieldPath.compile("a[][0].id"), payload),
+				equalTo((Object) Arrays.asList("1", "3")));
+	}
+
+	@Test
+	public void extractFromItemsInArrayUsingAsteriskWildcard() {
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("a", Arrays.asList(createEntry("id:1"), createEntry("id:2")));
+		assertThat(this.fieldProcessor.extract(FieldPath.compile("a[*].id"), payload),
+				equalTo((Object) Arrays.asList("1", "2")));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void extractUsingWildcardKey() throws IOException {
+		Map<String, Object> payload = new ObjectMapper().readValue(
+				"{\"prices\":{\"GBP\":{\"amount\":1},\"USD\":{\"amount\":2}}}",
+				Map.class);
+		assertThat(
+				(List<Object>) this.fieldProcessor.extract(
+						FieldPath.compile("prices.*.amount"), payload),
+				containsInAnyOrder((Object) 1, 2));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void extractUsingRecursiveDescent() throws IOException {
+		Map<String, Object> payload = new ObjectMapper().readValue(
+				"{\"id\":1,\"a\":{\"id\":2,\"b\":[{\"id\":3},{\"c\":{\"id\":4}}]}}",
+				Map.class);
+		assertThat(
+				(List<Object>) this.fieldProcessor.extract(FieldPath.compile("..id"),
+						payload), containsInAnyOrder((Object) 1, 2, 3, 4));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void extractUsingRecursiveDescentBeneathAField() throws IOException {
+		Map<String, Object> payload = new ObjectMapper().readValue(
+				"{\"id\":1,\"a\":{\"b\":{\"id\":2}},\"c\":{\"id\":3}}",
+				Map.class);
+		assertThat(this.fieldProcessor.extract(FieldPath.compile("a..id"), payload),
+				equalTo((Object) Arrays.asList(2)));
+	}
+
+	@Test
+	public void hasFieldUsingRecursiveDescent() throws IOException {
+		Object payload = new ObjectMapper().readValue(
+				"[{\"a\":{\"b\":[{\"c\":true}]}}]", Object.class);
+		assertThat(this.fieldProcessor.hasField(FieldPath.compile("..b[].c"), payload),
+				equalTo(true));
+		assertThat(this.fieldProcessor.hasField(FieldPath.compile("..c.b"), payload),
+				equalTo(false));
+	}
+
+	@Test(expected = FieldDoesNotExistException.class)
+	public void nonExistentIndexedItemInArray() {
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("a", Arrays.asList(createEntry("id:1"), createEntry("id:2")));
+		this.fieldProcessor.extract(FieldPath.compile("a[2]"), payload);
+	}
+
 	@Test(expected = FieldDoesNotExistException.class)
 	public void nonExistentTopLevelField() {
 		this.fieldProcessor
@@ -180,6 +273,83 @@ public class FieldProcessorTests {
 		this.fieldProcessor.extract(FieldPath.compile("a.b[].id"), payload);
 	}
 
+	@Test
+	public void hasFieldBeneathArray() {
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("a", Arrays.asList(createEntry("id:1"), createEntry("name:2")));
+		assertThat(this.fieldProcessor.hasField(FieldPath.compile("a[].name"), payload),
+				equalTo(true));
+		assertThat(this.fieldProcessor.hasField(FieldPath.compile("a[].c"), payload),
+				equalTo(false));
+	}
+
+	@Test
+	public void accumulateStopsWhenResultIsComplete() {
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("a", Arrays.asList(createEntry("id:1"), createEntry("id:2"),
+				createEntry("id:3")));
+		assertThat(this.fieldProcessor.accumulate(FieldPath.compile("a[].id"), payload,
+				new CountingAccumulator(2)), equalTo(2));
+	}
+
+	@Test
+	public void accumulateVisitsEveryValue() {
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("a", Arrays.asList(createEntry("id:1"), createEntry("id:2"),
+				createEntry("id:3")));
+		assertThat(this.fieldProcessor.accumulate(FieldPath.compile("a[].id"), payload,
+				new CountingAccumulator(Integer.MAX_VALUE)), equalTo(3));
+	}
+
+	@Test
+	public void extractFromItemsInArrayInParallel() {
+		Map<String, Object> payload = createPayloadWithLargeArray(1000);
+		List<Object> expected = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			expected.add(Integer.toString(i));
+		}
+		assertThat(
+				new FieldProcessor(10).extract(FieldPath.compile("a[].id"), payload),
+				equalTo((Object) expected));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void hasFieldInArrayInParallel() {
+		Map<String, Object> payload = createPayloadWithLargeArray(1000);
+		((List<Map<String, Object>>) payload.get("a")).get(999).put("b", "bravo");
+		FieldProcessor fieldProcessor = new FieldProcessor(10);
+		assertThat(fieldProcessor.hasField(FieldPath.compile("a[].b"), payload),
+				equalTo(true));
+		assertThat(fieldProcessor.hasField(FieldPath.compile("a[].c"), payload),
+				equalTo(false));
+	}
+
+	@Test
+	public void accumulateInParallelCombinesResults() {
+		Map<String, Object> payload = createPayloadWithLargeArray(1000);
+		assertThat(new FieldProcessor(10).accumulate(FieldPath.compile("a[].id"),
+				payload, new CountingAccumulator(Integer.MAX_VALUE)), equalTo(1000));
+	}
+
+	@Test
+	public void removeItemsInArrayInParallel() {
+		Map<String, Object> payload = createPayloadWithLargeArray(1000);
+		new FieldProcessor(10).remove(FieldPath.compile("a[].id"), payload);
+		assertThat(payload.size(), equalTo(0));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void removeSomeItemsInArrayInParallel() {
+		Map<String, Object> payload = createPayloadWithLargeArray(1000);
+		List<Map<String, Object>> items = (List<Map<String, Object>>) payload.get("a");
+		items.get(500).put("b", "bravo");
+		new FieldProcessor(10).remove(FieldPath.compile("a[].id"), payload);
+		assertThat(payload.get("a"), equalTo((Object) Arrays.asList(createEntry("b",
+				"bravo"))));
+	}
+
 	@Test
 	public void removeTopLevelMapEntry() {
 		Map<String, Object> payload = new HashMap<>();
@@ -216,6 +386,83 @@ public class FieldProcessorTests {
 		assertThat(payload.size(), equalTo(0));
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void removeIndexedItemsInArray() throws IOException {
+		Map<String, Object> payload = new ObjectMapper().readValue(
+				"{\"a\": [{\"id\":1},{\"id\":2},{\"id\":3}]}", Map.class);
+		this.fieldProcessor.remove(
+				Arrays.asList(FieldPath.compile("a[0]"), FieldPath.compile("a[1]")),
+				payload);
+		assertThat(payload.get("a"),
+				equalTo((Object) Arrays.asList(createEntry("id", 3))));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void removeAllIndexedItemsInArray() throws IOException {
+		Map<String, Object> payload = new ObjectMapper().readValue(
+				"{\"a\": [{\"id\":1},{\"id\":2}]}", Map.class);
+		this.fieldProcessor.remove(
+				Arrays.asList(FieldPath.compile("a[1].id"), FieldPath.compile("a[0]")),
+				payload);
+		assertThat(payload.size(), equalTo(0));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void removeUsingWildcardKey() throws IOException {
+		Map<String, Object> payload = new ObjectMapper().readValue(
+				"{\"prices\":{\"GBP\":{\"amount\":1,\"tax\":0},"
+						+ "\"USD\":{\"amount\":2}}}", Map.class);
+		this.fieldProcessor.remove(FieldPath.compile("prices.*.amount"), payload);
+		assertThat(payload, equalTo(new ObjectMapper().readValue(
+				"{\"prices\":{\"GBP\":{\"tax\":0}}}", Map.class)));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void removeUsingRecursiveDescent() throws IOException {
+		Map<String, Object> payload = new ObjectMapper().readValue(
+				"{\"id\":1,\"a\":{\"id\":2,\"b\":[{\"id\":3},{\"id\":4,\"c\":5}]}}",
+				Map.class);
+		this.fieldProcessor.remove(FieldPath.compile("..id"), payload);
+		assertThat(payload, equalTo(new ObjectMapper().readValue(
+				"{\"a\":{\"b\":[{\"c\":5}]}}", Map.class)));
+	}
+
+	@Test
+	public void removeUsingRecursiveDescentInParallel() {
+		Map<String, Object> payload = createPayloadWithLargeArray(1000);
+		new FieldProcessor(10).remove(FieldPath.compile("..id"), payload);
+		assertThat(payload.size(), equalTo(0));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void removeReturnsThePathsThatMatched() throws IOException {
+		Map<String, Object> payload = new ObjectMapper().readValue(
+				"{\"a\":{\"b\":1,\"c\":{\"d\":2}}}", Map.class);
+		FieldPath a = FieldPath.compile("a");
+		FieldPath ab = FieldPath.compile("a.b");
+		FieldPath anyD = FieldPath.compile("..d");
+		FieldPath x = FieldPath.compile("a.*.x");
+		Set<FieldPath> matched = this.fieldProcessor.remove(
+				Arrays.asList(a, ab, anyD, x), payload);
+		assertThat(matched, containsInAnyOrder(a, ab, anyD));
+		assertThat(payload.size(), equalTo(0));
+	}
+
+	private Map<String, Object> createPayloadWithLargeArray(int size) {
+		List<Map<String, Object>> items = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			items.add(createEntry("id", (Object) Integer.toString(i)));
+		}
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("a", items);
+		return payload;
+	}
+
 	private Map<String, String> createEntry(String... pairs) {
 		Map<String, String> entry = new HashMap<>();
 		for (String pair : pairs) {
@@ -230,4 +477,35 @@ public class FieldProcessorTests {
 		entry.put(key, value);
 		return entry;
 	}
+
+	private static final class CountingAccumulator implements
+			FieldProcessor.ValueAccumulator<Integer> {
+
+		private final int limit;
+
+		private CountingAccumulator(int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		public Integer initialResult() {
+			return 0;
+		}
+
+		@Override
+		public Integer accumulate(Integer result, Object value) {
+			return result + 1;
+		}
+
+		@Override
+		public Integer combine(Integer first, Integer second) {
+			return first + second;
+		}
+
+		@Override
+		public boolean isComplete(Integer result) {
+			return result >= this.limit;
+		}
+
+	}
 }
@@ -91,6 +91,18 @@ public class FieldTypeResolverTests {
 				equalTo(FieldType.VARIES));
 	}
 
+	@Test
+	public void multipleFieldsWithDifferentTypesInParallel() throws IOException {
+		StringBuilder json = new StringBuilder("{\"a\":[");
+		for (int i = 0; i < 1000; i++) {
+			json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append("}");
+		}
+		json.append(",{\"id\":\"1000\"}]}");
+		FieldTypeResolver fieldTypeResolver = new FieldTypeResolver(new FieldProcessor(10));
+		assertThat(fieldTypeResolver.resolveFieldType("a[].id",
+				createPayload(json.toString())), equalTo(FieldType.VARIES));
+	}
+
 	@Test
 	public void nonExistentFieldProducesIllegalArgumentException() throws IOException {
 		this.thrownException.expect(FieldDoesNotExistException.class);
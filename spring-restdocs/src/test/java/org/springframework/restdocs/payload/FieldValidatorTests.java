@@ -18,8 +18,10 @@ package org.springframework.restdocs.payload;
 import static org.hamcrest.CoreMatchers.equalTo;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -46,14 +48,14 @@ public class FieldValidatorTests {
 
 	@Test
 	public void noMissingFieldsAllFieldsDocumented() throws IOException {
-		this.fieldValidator.validate(this.payload, Arrays.asList(new FieldDescriptor(
+		validate(this.fieldValidator, this.payload, Arrays.asList(new FieldDescriptor(
 				"a.b"), new FieldDescriptor("a.c"), new FieldDescriptor("a.d[].e"),
 				new FieldDescriptor("a.d"), new FieldDescriptor("a")));
 	}
 
 	@Test
 	public void optionalFieldsAreNotReportedMissing() throws IOException {
-		this.fieldValidator.validate(this.payload, Arrays.asList(
+		validate(this.fieldValidator, this.payload, Arrays.asList(
 				new FieldDescriptor("a"), new FieldDescriptor("a.b"),
 				new FieldDescriptor("a.c"), new FieldDescriptor("a.d"),
 				new FieldDescriptor("y").optional()));
@@ -61,23 +63,39 @@ public class FieldValidatorTests {
 
 	@Test
 	public void parentIsDocumentedWhenAllChildrenAreDocumented() throws IOException {
-		this.fieldValidator.validate(this.payload, Arrays.asList(new FieldDescriptor(
+		validate(this.fieldValidator, this.payload, Arrays.asList(new FieldDescriptor(
 				"a.b"), new FieldDescriptor("a.c"), new FieldDescriptor("a.d[].e")));
 	}
 
 	@Test
 	public void childIsDocumentedWhenParentIsDocumented() throws IOException {
-		this.fieldValidator.validate(this.payload,
+		validate(this.fieldValidator, this.payload,
 				Arrays.asList(new FieldDescriptor("a")));
 	}
 
+	@Test
+	public void fieldsDocumentedUsingWildcards() throws IOException {
+		validate(this.fieldValidator, this.payload, Arrays.asList(new FieldDescriptor(
+				"a.*"), new FieldDescriptor("..e")));
+	}
+
+	@Test
+	public void missingRecursiveDescentField() throws IOException {
+		this.thrownException.expect(SnippetGenerationException.class);
+		this.thrownException
+				.expectMessage(equalTo("Fields with the following paths were not found"
+						+ " in the payload: [..f]"));
+		validate(this.fieldValidator, this.payload,
+				Arrays.asList(new FieldDescriptor("a"), new FieldDescriptor("..f")));
+	}
+
 	@Test
 	public void missingField() throws IOException {
 		this.thrownException.expect(SnippetGenerationException.class);
 		this.thrownException
 				.expectMessage(equalTo("Fields with the following paths were not found"
 						+ " in the payload: [y, z]"));
-		this.fieldValidator.validate(this.payload, Arrays.asList(
+		validate(this.fieldValidator, this.payload, Arrays.asList(
 				new FieldDescriptor("a"), new FieldDescriptor("a.b"),
 				new FieldDescriptor("y"), new FieldDescriptor("z")));
 	}
@@ -87,14 +105,43 @@ public class FieldValidatorTests {
 		this.thrownException.expect(SnippetGenerationException.class);
 		this.thrownException.expectMessage(equalTo(String
 				.format("The following parts of the payload were not"
-						+ " documented:%n{%n  \"a\" : {%n    \"c\" : true%n  }%n}")));
-		this.fieldValidator.validate(this.payload,
+						+ " documented:%n  a.c (1 occurrence, for example: true)")));
+		validate(this.fieldValidator, this.payload,
 				Arrays.asList(new FieldDescriptor("a.b"), new FieldDescriptor("a.d")));
 	}
 
+	@Test
+	public void undocumentedPayloadIsIncludedOnRequest() throws IOException {
+		this.thrownException.expect(SnippetGenerationException.class);
+		this.thrownException.expectMessage(equalTo(String
+				.format("The following parts of the payload were not"
+						+ " documented:%n  a.c (1 occurrence, for example: true)%n"
+						+ "Undocumented payload:%n{%n  \"a\" : {%n    \"c\" : true%n"
+						+ "  }%n}")));
+		validate(new FieldValidator(new FieldProcessor(), true), this.payload,
+				Arrays.asList(new FieldDescriptor("a.b"), new FieldDescriptor("a.d")));
+	}
+
+	@Test
+	public void indexedArrayItemsAreDocumented() throws IOException {
+		validate(this.fieldValidator, this.payload, Arrays.asList(new FieldDescriptor(
+				"a.b"), new FieldDescriptor("a.c"), new FieldDescriptor("a.d[0].e"),
+				new FieldDescriptor("a.d[1]")));
+	}
+
+	@Test
+	public void undocumentedIndexedArrayItem() throws IOException {
+		this.thrownException.expect(SnippetGenerationException.class);
+		this.thrownException.expectMessage(equalTo(String
+				.format("The following parts of the payload were not"
+						+ " documented:%n  a.d[].e (1 occurrence, for example: 2)")));
+		validate(this.fieldValidator, this.payload, Arrays.asList(new FieldDescriptor(
+				"a.b"), new FieldDescriptor("a.c"), new FieldDescriptor("a.d[0]")));
+	}
+
 	@Test
 	public void listPayloadNoMissingFieldsAllFieldsDocumented() throws IOException {
-		this.fieldValidator.validate(this.listPayload, Arrays.asList(new FieldDescriptor(
+		validate(this.fieldValidator, this.listPayload, Arrays.asList(new FieldDescriptor(
 				"[]b.c"), new FieldDescriptor("[]b"), new FieldDescriptor("[]a"),
 				new FieldDescriptor("[]")));
 	}
@@ -102,13 +149,21 @@ public class FieldValidatorTests {
 	@Test
 	public void listPayloadParentIsDocumentedWhenAllChildrenAreDocumented()
 			throws IOException {
-		this.fieldValidator.validate(this.listPayload,
+		validate(this.fieldValidator, this.listPayload,
 				Arrays.asList(new FieldDescriptor("[]b.c"), new FieldDescriptor("[]a")));
 	}
 
 	@Test
 	public void listPayloadChildIsDocumentedWhenParentIsDocumented() throws IOException {
-		this.fieldValidator.validate(this.listPayload,
+		validate(this.fieldValidator, this.listPayload,
 				Arrays.asList(new FieldDescriptor("[]")));
 	}
+	private void validate(FieldValidator validator, Reader payload,
+			List<FieldDescriptor> descriptors) throws IOException {
+		for (FieldDescriptor descriptor : descriptors) {
+			descriptor.description("description");
+		}
+		validator.validate(payload, new FieldDescriptors(descriptors));
+	}
+
 }
@@ -20,7 +20,10 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.springframework.restdocs.payload.PayloadDocumentation.documentRequestFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.documentResponseFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldDescriptors;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.payloadBudget;
+import static org.springframework.restdocs.response.ResponsePostProcessors.prettyPrintContent;
 import static org.springframework.restdocs.test.SnippetMatchers.tableWithHeader;
 import static org.springframework.restdocs.test.StubMvcResult.result;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -120,6 +123,25 @@ public class PayloadDocumentationTests {
 				fieldWithPath("[]a").description("three")).handle(result(response));
 	}
 
+	@Test
+	public void responseWithSharedFieldDescriptors() throws IOException {
+		this.snippet.expectResponseFields("shared-field-descriptors").withContents( //
+				tableWithHeader("Path", "Type", "Description") //
+						.row("a", "Number", "one") //
+						.row("b", "String", "two"));
+
+		FieldDescriptor a = fieldWithPath("a").description("one");
+		FieldDescriptors descriptors = fieldDescriptors(a,
+				fieldWithPath("b").description("two"));
+		a.description("changed");
+		for (String name : new String[] { "other-field-descriptors",
+				"shared-field-descriptors" }) {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			response.getWriter().append("{\"a\": 5, \"b\": \"bravo\"}");
+			documentResponseFields(name, descriptors).handle(result(response));
+		}
+	}
+
 	@Test
 	public void arrayResponse() throws IOException {
 		this.snippet.expectResponseFields("array-response").withContents( //
@@ -174,4 +196,111 @@ public class PayloadDocumentationTests {
 				fieldWithPath("a.b").description("one")).handle(
 				result(get("/foo").content("{ \"a\": { \"c\": 5 }}")));
 	}
+
+	@Test
+	public void responseMetrics() throws IOException {
+		this.snippet.expectResponseMetrics("response-metrics").withContents( //
+				tableWithHeader("Metric", "Value", "Budget") //
+						.row("Size (bytes)", "27", "1000") //
+						.row("Depth", "3", "3") //
+						.row("Fields", "3", "None") //
+						.row("Largest array", "3", "None"));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.getWriter().append("{\"a\":{\"b\":[1,2,3]},\"c\":\"d\"}");
+		documentResponseFields("response-metrics", fieldWithPath("a").description("one"),
+				fieldWithPath("c").description("two")).withBudget(
+				payloadBudget().maxSize(1000).maxDepth(3)).handle(result(response));
+	}
+
+	@Test
+	public void responseExceedingBudget() throws IOException {
+		this.thrown.expect(SnippetGenerationException.class);
+		this.thrown.expectMessage(equalTo(String.format(
+				"The response payload exceeded its budget:%n  depth: 3 (budget 2)%n"
+						+ "  array length: 3 (budget 2)")));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.getWriter().append("{\"a\":{\"b\":[1,2,3]}}");
+		documentResponseFields("response-exceeding-budget",
+				fieldWithPath("a").description("one")).withBudget(
+				payloadBudget().maxDepth(2).maxArrayLength(2)).handle(result(response));
+	}
+
+	@Test
+	public void requestExceedingBudget() throws IOException {
+		this.thrown.expect(SnippetGenerationException.class);
+		this.thrown.expectMessage(equalTo(String.format(
+				"The request payload exceeded its budget:%n  size: 7 (budget 4)")));
+		documentRequestFields("request-exceeding-budget",
+				fieldWithPath("a").description("one")).withBudget(
+				payloadBudget().maxSize(4)).handle(
+				result(get("/foo").content("{\"a\":5}")));
+	}
+
+	@Test
+	public void budgetIsCheckedForPayloadsWithAValidatedShape() throws IOException {
+		FieldSnippetResultHandler handler = documentResponseFields(
+				"budget-checked-for-validated-shape",
+				fieldWithPath("a").description("one")).withBudget(
+				payloadBudget().maxArrayLength(2));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.getWriter().append("{\"a\":[1,2]}");
+		handler.handle(result(response));
+		this.thrown.expect(SnippetGenerationException.class);
+		this.thrown.expectMessage(equalTo(String.format(
+				"The response payload exceeded its budget:%n"
+						+ "  array length: 3 (budget 2)")));
+		response = new MockHttpServletResponse();
+		response.getWriter().append("{\"a\":[1,2,3]}");
+		handler.handle(result(response));
+	}
+
+	@Test
+	public void budgetIsCheckedForAPostProcessedResponse() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setContentType("application/json");
+		response.setCharacterEncoding("UTF-8");
+		response.getWriter().append("{\"a\":\"\u00e9\"}");
+		MockHttpServletResponse prettyPrinted = prettyPrintContent().postProcess(
+				response);
+		int size = prettyPrinted.getContentAsString().getBytes("UTF-8").length;
+		this.thrown.expect(SnippetGenerationException.class);
+		this.thrown.expectMessage(equalTo(String.format(
+				"The response payload exceeded its budget:%n  size: %d (budget 1)",
+				size)));
+		documentResponseFields("post-processed-response-budget",
+				fieldWithPath("a").description("one")).withBudget(
+				payloadBudget().maxSize(1)).handle(result(prettyPrinted));
+	}
+
+	@Test
+	public void xmlResponseMetrics() throws IOException {
+		this.snippet.expectResponseMetrics("xml-response-metrics").withContents( //
+				tableWithHeader("Metric", "Value", "Budget") //
+						.row("Size (bytes)", "15", "100"));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setContentType("application/xml");
+		response.getWriter().append("<a><b>5</b></a>");
+		documentResponseFields("xml-response-metrics",
+				fieldWithPath("/a/b").description("one")).withBudget(
+				payloadBudget().maxSize(100).maxDepth(1)).handle(result(response));
+	}
+
+	@Test
+	public void xmlResponseWithFields() throws IOException {
+		this.snippet.expectResponseFields("xml-response-with-fields").withContents(//
+				tableWithHeader("Path", "Type", "Description") //
+						.row("/a/b", "String", "one") //
+						.row("/a/c", "Object", "two") //
+						.row("/a/@id", "String", "three"));
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setContentType("application/xml");
+		response.getWriter().append(
+				"<a id=\"1\"><b>bravo</b><c><d>delta</d></c></a>");
+		documentResponseFields("xml-response-with-fields",
+				fieldWithPath("/a/b").description("one"),
+				fieldWithPath("/a/c").description("two"),
+				fieldWithPath("/a/@id").description("three")).handle(result(response));
+	}
+
 }
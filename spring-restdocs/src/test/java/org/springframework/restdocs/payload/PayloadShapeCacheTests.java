@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.payload;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldDescriptors;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link PayloadShapeCache}
+ * 
+ * @author Andy Wilkinson
+ */
+public class PayloadShapeCacheTests {
+
+	private final PayloadShapeCache cache = new PayloadShapeCache(2);
+
+	private final PayloadShape shape = shape(Collections.singletonMap("a", "alpha"));
+
+	@Test
+	public void cachedTypesAreReturnedForEquivalentDescriptors() {
+		FieldDescriptors first = fieldDescriptors(fieldWithPath("a").description("A"));
+		this.cache.put(first, this.shape, Collections.singletonMap(first.getDescriptors()
+				.iterator().next(), FieldType.STRING));
+		FieldDescriptors second = fieldDescriptors(fieldWithPath("a").description(
+				"Another description"));
+		Map<FieldDescriptor, FieldType> fieldTypes = this.cache.get(second, shape(Collections.singletonMap("a", "bravo")));
+		FieldDescriptor descriptor = second.getDescriptors().iterator().next();
+		assertThat(fieldTypes, is(equalTo(Collections.singletonMap(descriptor,
+				FieldType.STRING))));
+	}
+
+	@Test
+	public void cachedTypesAreNotReturnedForADifferentShape() {
+		FieldDescriptors descriptors = fieldDescriptors(fieldWithPath("a")
+				.description("A"));
+		this.cache.put(descriptors, this.shape, types(descriptors, FieldType.STRING));
+		assertThat(this.cache.get(descriptors, shape(Collections.singletonMap("a", 1))),
+				is(nullValue()));
+	}
+
+	@Test
+	public void cachedTypesAreNotReturnedForDifferentDescriptors() {
+		FieldDescriptors descriptors = fieldDescriptors(fieldWithPath("a")
+				.description("A"));
+		this.cache.put(descriptors, this.shape, types(descriptors, FieldType.STRING));
+		assertThat(
+				this.cache.get(fieldDescriptors(fieldWithPath("a").description("A")
+						.optional()), this.shape), is(nullValue()));
+		assertThat(
+				this.cache.get(fieldDescriptors(fieldWithPath("a").description("A")
+						.type(FieldType.VARIES)), this.shape), is(nullValue()));
+	}
+
+	@Test
+	public void leastRecentlyUsedOutcomeIsEvictedOnceTheCacheIsFull() {
+		FieldDescriptors descriptors = fieldDescriptors(fieldWithPath("a")
+				.description("A"));
+		PayloadShape first = shape(Collections.singletonMap("a", 1));
+		PayloadShape second = shape(Collections.singletonMap("a", true));
+		this.cache.put(descriptors, first, types(descriptors, FieldType.NUMBER));
+		this.cache.put(descriptors, second, types(descriptors, FieldType.BOOLEAN));
+		this.cache.get(descriptors, first);
+		this.cache.put(descriptors, this.shape, types(descriptors, FieldType.STRING));
+		assertThat(this.cache.get(descriptors, first), is(not(nullValue())));
+		assertThat(this.cache.get(descriptors, second), is(nullValue()));
+		assertThat(this.cache.get(descriptors, this.shape), is(not(nullValue())));
+	}
+
+	@Test
+	public void outcomeForAShapeWithoutASignatureIsNotCached() {
+		FieldDescriptors descriptors = fieldDescriptors(fieldWithPath("[]")
+				.description("Items"));
+		PayloadShape shape = shape(Collections.nCopies(
+				PayloadShape.MAX_SIGNATURE_LENGTH, 1));
+		this.cache.put(descriptors, shape, types(descriptors, FieldType.NUMBER));
+		assertThat(this.cache.get(descriptors, shape), is(nullValue()));
+	}
+
+	private Map<FieldDescriptor, FieldType> types(FieldDescriptors descriptors,
+			FieldType... types) {
+		Map<FieldDescriptor, FieldType> fieldTypes = new LinkedHashMap<>();
+		int i = 0;
+		for (FieldDescriptor descriptor : descriptors.getDescriptors()) {
+			fieldTypes.put(descriptor, types[i++]);
+		}
+		return fieldTypes;
+	}
+
+	private PayloadShape shape(Object payload) {
+		return PayloadShape.of(payload);
+	}
+
+}
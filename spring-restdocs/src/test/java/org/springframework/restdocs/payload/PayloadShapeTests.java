@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.restdocs.payload;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests for {@link PayloadShape}
+ * 
+ * @author Andy Wilkinson
+ */
+public class PayloadShapeTests {
+
+	@Test
+	public void payloadsWithDifferentValuesHaveTheSameSignature() throws IOException {
+		assertThat(signature("{\"a\":\"one\",\"b\":[1,2],\"c\":{\"d\":true}}"),
+				is(equalTo(signature("{\"a\":\"two\",\"b\":[3,4],\"c\":{\"d\":false}}"))));
+	}
+
+	@Test
+	public void payloadsWithDifferentKeysHaveDifferentSignatures() throws IOException {
+		assertThat(signature("{\"a\":1}"), is(not(equalTo(signature("{\"b\":1}")))));
+	}
+
+	@Test
+	public void keysWithCollidingHashCodesHaveDifferentSignatures() throws IOException {
+		assertThat("Aa".hashCode(), is(equalTo("BB".hashCode())));
+		assertThat(signature("{\"Aa\":1}"), is(not(equalTo(signature("{\"BB\":1}")))));
+	}
+
+	@Test
+	public void keysThatLookLikeStructureHaveDifferentSignatures() throws IOException {
+		assertThat(signature("{\"a\":{\"b\":1}}"),
+				is(not(equalTo(signature("{\"a\\\":{\\\"b\":1}")))));
+		assertThat(signature("{\"ab\":1}"),
+				is(not(equalTo(signature("{\"a\":{\"b\":1}}")))));
+	}
+
+	@Test
+	public void payloadsWithDifferentKindsOfValueHaveDifferentSignatures()
+			throws IOException {
+		assertThat(signature("{\"a\":1}"), is(not(equalTo(signature("{\"a\":\"1\"}")))));
+		assertThat(signature("{\"a\":null}"), is(not(equalTo(signature("{\"a\":{}}")))));
+	}
+
+	@Test
+	public void payloadsWithDifferentArrayItemsHaveDifferentSignatures()
+			throws IOException {
+		assertThat(signature("{\"a\":[{\"b\":1}]}"),
+				is(not(equalTo(signature("{\"a\":[{\"b\":1},{\"b\":2}]}")))));
+		assertThat(signature("{\"a\":[{\"b\":1}],\"c\":1}"),
+				is(not(equalTo(signature("{\"a\":[{\"b\":1},{\"c\":1}]}")))));
+	}
+
+	@Test
+	public void structureIsMeasured() throws IOException {
+		PayloadShape shape = shape("{\"a\":{\"b\":[1,2,3]},\"c\":[{\"d\":1}]}");
+		assertThat(shape.getDepth(), is(equalTo(3)));
+		assertThat(shape.getFields(), is(equalTo(4)));
+		assertThat(shape.getMaxArrayLength(), is(equalTo(3)));
+	}
+
+	@Test
+	public void largePayloadIsMeasuredWithoutASignature() {
+		PayloadShape shape = PayloadShape.of(Collections.nCopies(
+				PayloadShape.MAX_SIGNATURE_LENGTH, 1));
+		assertThat(shape.getSignature(), is(nullValue()));
+		assertThat(shape.getMaxArrayLength(),
+				is(equalTo(PayloadShape.MAX_SIGNATURE_LENGTH)));
+	}
+
+	private String signature(String json) throws IOException {
+		return shape(json).getSignature();
+	}
+
+	private PayloadShape shape(String json) throws IOException {
+		return PayloadShape.of(new ObjectMapper().readValue(json, Object.class));
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.payload;
+
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests for {@link UndocumentedFieldsReport}
+ * 
+ * @author Andy Wilkinson
+ */
+public class UndocumentedFieldsReportTests {
+
+	@Test
+	public void emptyPayload() throws IOException {
+		assertThat(report("{}").isEmpty(), is(true));
+	}
+
+	@Test
+	public void occurrencesOfPathsBeneathArraysAreCounted() throws IOException {
+		assertThat(report("{\"a\":[{\"b\":1},{\"b\":2},{\"b\":3,\"c\":\"x\"}]}")
+				.toString(), is(equalTo(String.format(
+				"  a[].b (3 occurrences, for example: 1)%n"
+						+ "  a[].c (1 occurrence, for example: \"x\")"))));
+	}
+
+	@Test
+	public void emptyObjectsAndArraysAreReported() throws IOException {
+		assertThat(report("[{\"a\":{},\"b\":[]}]").toString(), is(equalTo(String.format(
+				"  [].a (1 occurrence, for example: {})%n"
+						+ "  [].b (1 occurrence, for example: [])"))));
+	}
+
+	@Test
+	public void longSamplesAreTruncated() throws IOException {
+		StringBuilder value = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			value.append("a");
+		}
+		assertThat(report("{\"a\":\"" + value + "\"}").toString(), endsWith("aaa...)"));
+	}
+
+	@Test
+	public void numberOfReportedPathsIsLimited() throws IOException {
+		Map<String, Object> payload = new LinkedHashMap<String, Object>();
+		for (int i = 0; i < 1000; i++) {
+			payload.put("field" + i, i);
+		}
+		String report = UndocumentedFieldsReport.create(payload).toString();
+		assertThat(report.split(String.format("%n")).length,
+				is(equalTo(UndocumentedFieldsReport.MAX_REPORTED_PATHS + 1)));
+		assertThat(report, endsWith(String.format("%n  ...and 980 more")));
+	}
+
+	@Test
+	public void numberOfCountedPathsIsLimited() throws IOException {
+		Map<String, Object> payload = new LinkedHashMap<String, Object>();
+		for (int i = 0; i < 5000; i++) {
+			payload.put("field" + i, i);
+		}
+		String report = UndocumentedFieldsReport.create(payload).toString();
+		assertThat(report, endsWith(String.format("%n  ...and over %d more",
+				UndocumentedFieldsReport.MAX_OMITTED_PATHS)));
+	}
+
+	@Test
+	public void undocumentedPayloadIsFormatted() throws IOException {
+		assertThat(report("{\"a\":true}").getUndocumentedPayload(),
+				is(equalTo(String.format("{%n  \"a\" : true%n}"))));
+	}
+
+	private UndocumentedFieldsReport report(String payload) throws IOException {
+		return UndocumentedFieldsReport.create(new ObjectMapper().readValue(payload,
+				Object.class));
+	}
+
+}
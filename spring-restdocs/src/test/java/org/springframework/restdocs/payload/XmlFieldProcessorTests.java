@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.payload;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.restdocs.snippet.SnippetGenerationException;
+
+/**
+ * Tests for {@link XmlFieldProcessor}
+ * 
+ * @author Andy Wilkinson
+ */
+public class XmlFieldProcessorTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final XmlFieldProcessor processor = new XmlFieldProcessor();
+
+	@Test
+	public void typesAreResolved() throws IOException {
+		FieldDescriptor object = descriptor("/a/b");
+		FieldDescriptor string = descriptor("/a/b/c");
+		FieldDescriptor empty = descriptor("a/d");
+		FieldDescriptor attribute = descriptor("/a/@id");
+		Map<String, FieldType> types = process(
+				"<a id=\"1\"><b><c>charlie</c></b><d/></a>", object, string, empty,
+				attribute);
+		assertThat(types.get(object.getPath()), is(FieldType.OBJECT));
+		assertThat(types.get(string.getPath()), is(FieldType.STRING));
+		assertThat(types.get(empty.getPath()), is(FieldType.NULL));
+		assertThat(types.get(attribute.getPath()), is(FieldType.STRING));
+	}
+
+	@Test
+	public void typeOfRepeatedElementVaries() throws IOException {
+		FieldDescriptor item = descriptor("/a/item");
+		Map<String, FieldType> types = process(
+				"<a><item>one</item><item><b/></item></a>", item);
+		assertThat(types.get(item.getPath()), is(FieldType.VARIES));
+	}
+
+	@Test
+	public void explicitTypeIsUsed() throws IOException {
+		FieldDescriptor descriptor = descriptor("/a").type(FieldType.NUMBER);
+		assertThat(process("<a>5</a>", descriptor).get("/a"),
+				is(FieldType.NUMBER));
+	}
+
+	@Test
+	public void descendantsOfDocumentedElementAreDocumented() throws IOException {
+		process("<a><b c=\"charlie\"><d>delta</d></b></a>", descriptor("/a/b"));
+	}
+
+	@Test
+	public void missingOptionalFieldHasNoType() throws IOException {
+		FieldDescriptor optional = descriptor("/a/c").optional();
+		Map<String, FieldType> types = process("<a><b>bravo</b></a>",
+				descriptor("/a/b"), optional);
+		assertThat(types.get(optional.getPath()), is(nullValue()));
+	}
+
+	@Test
+	public void missingField() throws IOException {
+		this.thrown.expect(SnippetGenerationException.class);
+		this.thrown.expectMessage(equalTo("Fields with the following paths were not"
+				+ " found in the payload: [/a/c]"));
+		process("<a><b>bravo</b></a>", descriptor("/a/b"), descriptor("/a/c"));
+	}
+
+	@Test
+	public void undocumentedElementsAndAttributes() throws IOException {
+		this.thrown.expect(SnippetGenerationException.class);
+		this.thrown.expectMessage(equalTo(String.format(
+				"The following parts of the payload were not documented:%n"
+						+ "  /a/@id (1 occurrence, for example: \"1\")%n"
+						+ "  /a/c (2 occurrences, for example: \"charlie\")")));
+		process("<a id=\"1\"><b>bravo</b><c>charlie</c><c>charlie</c></a>",
+				descriptor("/a/b"));
+	}
+
+	@Test
+	public void parentOfDocumentedElementsIsNotUndocumented() throws IOException {
+		process("<a>\n  <b>bravo</b>\n  <c/>\n</a>", descriptor("/a/b"),
+				descriptor("/a/c"));
+	}
+
+	@Test
+	public void malformedPayload() throws IOException {
+		this.thrown.expect(IOException.class);
+		process("<a><b></a>", descriptor("/a"));
+	}
+
+	private Map<String, FieldType> process(String payload,
+			FieldDescriptor... descriptors) throws IOException {
+		Map<String, FieldType> typesByPath = new HashMap<String, FieldType>();
+		for (Entry<FieldDescriptor, FieldType> entry : this.processor.process(
+				new StringReader(payload),
+				new FieldDescriptors(Arrays.asList(descriptors))).entrySet()) {
+			typesByPath.put(entry.getKey().getPath(), entry.getValue());
+		}
+		return typesByPath;
+	}
+
+	private FieldDescriptor descriptor(String path) {
+		return new FieldDescriptor(path).description("description");
+	}
+
+}
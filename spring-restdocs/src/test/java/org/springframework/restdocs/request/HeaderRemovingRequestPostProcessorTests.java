@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.request;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Tests for {@link HeaderRemovingRequestPostProcessor}.
+ * 
+ * @author Andy Wilkinson
+ */
+public class HeaderRemovingRequestPostProcessorTests {
+
+	private final MockHttpServletRequest request = new MockHttpServletRequest("POST",
+			"/foo");
+
+	@Before
+	public void configureRequest() {
+		this.request.addHeader("a", "alpha");
+		this.request.addHeader("b", "bravo");
+		this.request.setContent("content".getBytes());
+	}
+
+	@Test
+	public void headersAreRemoved() throws Exception {
+		MockHttpServletRequest request = removeHeaders("a");
+		assertThat(request.getHeader("a"), is(nullValue()));
+		assertThat(Collections.list(request.getHeaderNames()), contains("b"));
+	}
+
+	@Test
+	public void headerNamesAreCaseInsensitive() throws Exception {
+		MockHttpServletRequest request = removeHeaders("A");
+		assertThat(Collections.list(request.getHeaderNames()), contains("b"));
+	}
+
+	@Test
+	public void restOfRequestIsUnchanged() throws Exception {
+		MockHttpServletRequest request = removeHeaders("a");
+		assertThat(request.getMethod(), is(equalTo("POST")));
+		assertThat(request.getRequestURI(), is(equalTo("/foo")));
+		assertThat(request.getContentLength(), is(equalTo(7)));
+	}
+
+	@Test
+	public void headersAreRemovedFromTheGivenRequest() throws Exception {
+		assertThat(removeHeaders("a"), is(sameInstance(this.request)));
+		assertThat(this.request.getHeader("a"), is(nullValue()));
+	}
+
+	private MockHttpServletRequest removeHeaders(String... headerNames)
+			throws Exception {
+		return new HeaderRemovingRequestPostProcessor(headerNames)
+				.postProcess(this.request);
+	}
+
+}
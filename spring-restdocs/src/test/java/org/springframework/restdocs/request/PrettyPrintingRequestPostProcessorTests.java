@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.request;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.restdocs.util.DocumentableHttpServletRequest;
+
+/**
+ * Tests for {@link PrettyPrintingRequestPostProcessor}
+ * 
+ * @author Andy Wilkinson
+ */
+public class PrettyPrintingRequestPostProcessorTests {
+
+	@Test
+	public void prettyPrintJson() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setContent("{\"a\":5}".getBytes());
+		assertThat(contentOf(new PrettyPrintingRequestPostProcessor()
+				.postProcess(request)), is(equalTo(String.format("{%n  \"a\" : 5%n}"))));
+	}
+
+	@Test
+	public void prettyPrintJsonWithCustomIndent() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setContent("{\"a\":{\"b\":5}}".getBytes());
+		assertThat(contentOf(new PrettyPrintingRequestPostProcessor("\t")
+				.postProcess(request)), is(equalTo(String
+				.format("{%n\t\"a\" : {%n\t\t\"b\" : 5%n\t}%n}"))));
+	}
+
+	@Test
+	public void contentLengthHeaderIsUpdated() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setContent("{\"a\":5}".getBytes());
+		request.addHeader("Content-Length", 7);
+		MockHttpServletRequest prettyPrinted = new PrettyPrintingRequestPostProcessor()
+				.postProcess(request);
+		assertThat(prettyPrinted.getHeader("Content-Length"),
+				is(equalTo(Integer.toString(prettyPrinted.getContentLength()))));
+	}
+
+	@Test
+	public void contentIsModifiedInTheGivenRequest() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setContent("{\"a\":5}".getBytes());
+		request.addHeader("Content-Length", 7);
+		assertThat(new PrettyPrintingRequestPostProcessor().postProcess(request),
+				is(sameInstance(request)));
+		assertThat(contentOf(request), is(equalTo(String.format("{%n  \"a\" : 5%n}"))));
+		assertThat(request.getHeader("Content-Length"),
+				is(equalTo(Integer.toString(request.getContentLength()))));
+	}
+
+	@Test
+	public void requestWithoutContentIsHandledGracefully() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		assertThat(new PrettyPrintingRequestPostProcessor().postProcess(request)
+				.getContentLength(), is(equalTo(-1)));
+	}
+
+	private String contentOf(MockHttpServletRequest request) throws Exception {
+		return new DocumentableHttpServletRequest(request).getContentAsString();
+	}
+
+}
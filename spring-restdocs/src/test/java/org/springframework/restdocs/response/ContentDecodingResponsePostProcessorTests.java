@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.response;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Tests for {@link ContentDecodingResponsePostProcessor}
+ * 
+ * @author Andy Wilkinson
+ */
+public class ContentDecodingResponsePostProcessorTests {
+
+	private static final String CONTENT = "{\"a\":\"alpha\"}";
+
+	private final ContentDecodingResponsePostProcessor postProcessor = new ContentDecodingResponsePostProcessor();
+
+	@Test
+	public void responseWithoutContentEncodingIsUnchanged() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.getWriter().write(CONTENT);
+		assertThat(this.postProcessor.postProcess(response), is(sameInstance(response)));
+	}
+
+	@Test
+	public void responseWithUnsupportedContentEncodingIsUnchanged() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.addHeader("Content-Encoding", "br");
+		assertThat(this.postProcessor.postProcess(response), is(sameInstance(response)));
+	}
+
+	@Test
+	public void gzipContentIsDecoded() throws Exception {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		write(new GZIPOutputStream(compressed));
+		assertDecoded(encodedResponse("gzip", compressed.toByteArray()));
+	}
+
+	@Test
+	public void deflateContentIsDecoded() throws Exception {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		write(new DeflaterOutputStream(compressed));
+		assertDecoded(encodedResponse("deflate", compressed.toByteArray()));
+	}
+
+	@Test
+	public void rawDeflateContentIsDecoded() throws Exception {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		write(new DeflaterOutputStream(compressed, new Deflater(
+				Deflater.DEFAULT_COMPRESSION, true)));
+		assertDecoded(encodedResponse("deflate", compressed.toByteArray()));
+	}
+
+	@Test
+	public void vendorJsonContentIsDecoded() throws Exception {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		write(new GZIPOutputStream(compressed));
+		assertDecoded(encodedResponse("gzip", "application/hal+json;charset=UTF-8",
+				compressed.toByteArray()));
+	}
+
+	@Test
+	public void binaryContentIsUnchanged() throws Exception {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		write(new GZIPOutputStream(compressed));
+		MockHttpServletResponse response = encodedResponse("gzip", "image/png",
+				compressed.toByteArray());
+		assertThat(this.postProcessor.postProcess(response), is(sameInstance(response)));
+	}
+
+	@Test
+	public void contentWithoutAContentTypeIsUnchanged() throws Exception {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		write(new GZIPOutputStream(compressed));
+		MockHttpServletResponse response = encodedResponse("gzip", null,
+				compressed.toByteArray());
+		assertThat(this.postProcessor.postProcess(response), is(sameInstance(response)));
+	}
+
+	private MockHttpServletResponse encodedResponse(String encoding, byte[] content)
+			throws IOException {
+		return encodedResponse(encoding, "application/json", content);
+	}
+
+	private MockHttpServletResponse encodedResponse(String encoding, String contentType,
+			byte[] content) throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.addHeader("Content-Encoding", encoding);
+		response.addHeader("Content-Length", Integer.toString(content.length));
+		if (contentType != null) {
+			response.addHeader("Content-Type", contentType);
+		}
+		response.getOutputStream().write(content);
+		return response;
+	}
+
+	private void assertDecoded(MockHttpServletResponse response) throws Exception {
+		MockHttpServletResponse decoded = this.postProcessor.postProcess(response);
+		assertThat(decoded.getContentAsString(), is(equalTo(CONTENT)));
+		assertThat(decoded.getHeaderNames(),
+				contains("Content-Encoding", "Content-Length", "Content-Type"));
+	}
+
+	private void write(OutputStream output) throws IOException {
+		try (OutputStream stream = output) {
+			stream.write(CONTENT.getBytes("UTF-8"));
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.response;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Tests for {@link ContentLimitingResponsePostProcessor}
+ * 
+ * @author Andy Wilkinson
+ */
+public class ContentLimitingResponsePostProcessorTests {
+
+	@Test
+	public void contentIsLimitedToMaximumLength() throws Exception {
+		MockHttpServletResponse response = response("text/plain", "abcdefghij");
+		assertThat(ResponsePostProcessors.limitContent(4).postProcess(response)
+				.getContentAsString(), is(equalTo("abcd")));
+	}
+
+	@Test
+	public void responseWithinMaximumLengthIsUnchanged() throws Exception {
+		MockHttpServletResponse response = response("text/plain", "abcd");
+		assertThat(ResponsePostProcessors.limitContent(4).postProcess(response),
+				is(sameInstance(response)));
+	}
+
+	@Test
+	public void eventStreamIsLimitedToMaximumNumberOfEvents() throws Exception {
+		MockHttpServletResponse response = response("text/event-stream",
+				"data: one\n\nid: 2\ndata: two\n\ndata: three\n\n");
+		assertThat(ResponsePostProcessors.limitEvents(2).postProcess(response)
+				.getContentAsString(), is(equalTo("data: one\n\nid: 2\ndata: two\n\n")));
+	}
+
+	@Test
+	public void eventsWithCarriageReturnLineFeedsAreCounted() throws Exception {
+		MockHttpServletResponse response = response("text/event-stream;charset=UTF-8",
+				"data: one\r\n\r\ndata: two\r\n\r\n");
+		assertThat(ResponsePostProcessors.limitEvents(1).postProcess(response)
+				.getContentAsString(), is(equalTo("data: one\r\n\r\n")));
+	}
+
+	@Test
+	public void blankLinesBetweenEventsAreNotEvents() throws Exception {
+		MockHttpServletResponse response = response("text/event-stream",
+				"\n\ndata: one\n\n\n\ndata: two\n\n");
+		assertThat(ResponsePostProcessors.limitEvents(1).postProcess(response)
+				.getContentAsString(), is(equalTo("\n\ndata: one\n\n")));
+	}
+
+	@Test
+	public void eventStreamWithFewerEventsIsUnchanged() throws Exception {
+		MockHttpServletResponse response = response("text/event-stream",
+				"data: one\n\ndata: two");
+		assertThat(ResponsePostProcessors.limitEvents(2).postProcess(response),
+				is(sameInstance(response)));
+	}
+
+	@Test
+	public void responseThatIsNotAnEventStreamIsNotLimitedByEvents() throws Exception {
+		MockHttpServletResponse response = response("text/plain",
+				"data: one\n\ndata: two\n\n");
+		assertThat(ResponsePostProcessors.limitEvents(1).postProcess(response),
+				is(sameInstance(response)));
+	}
+
+	private MockHttpServletResponse response(String contentType, String content)
+			throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setContentType(contentType);
+		response.getWriter().write(content);
+		return response;
+	}
+
+}
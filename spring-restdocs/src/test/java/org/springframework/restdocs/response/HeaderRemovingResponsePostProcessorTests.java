@@ -18,6 +18,7 @@ package org.springframework.restdocs.response;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertThat;
@@ -83,6 +84,27 @@ public class HeaderRemovingResponsePostProcessorTests {
 		assertThat(response.getHeaderValues("b"), contains((Object) "bravo"));
 	}
 
+	@Test
+	public void headersAreRemovedCaseInsensitively() {
+		MockHttpServletResponse response = removeHeaders("A");
+		assertThat(response.getHeaderNames(), contains("b"));
+		assertThat(response.getHeader("a"), is(nullValue()));
+	}
+
+	@Test
+	public void headersMatchingAWildcardAreRemoved() {
+		this.response.addHeader("X-B3-TraceId", "trace");
+		this.response.addHeader("X-B3-SpanId", "span");
+		MockHttpServletResponse response = removeHeaders("x-b3-*");
+		assertThat(response.getHeaderNames(), contains("a", "b"));
+		assertThat(response.getHeader("X-B3-SpanId"), is(nullValue()));
+	}
+
+	@Test
+	public void responseWithoutRemovedHeadersIsUnchanged() {
+		assertThat(removeHeaders("c"), is(sameInstance(this.response)));
+	}
+
 	private MockHttpServletResponse removeHeaders(String... headerNames) {
 		return new HeaderRemovingResponsePostProcessor(headerNames)
 				.postProcess(this.response);
@@ -81,6 +81,41 @@ public class LinkMaskingResponsePostProcessorTests {
 						new Link("b", "custom")))));
 	}
 
+	@Test
+	public void embeddedHalLinksAreMasked() throws Exception {
+		assertThat(this.postProcessor.modifyContent("{\"_embedded\":{\"items\":["
+				+ "{\"_links\":{\"self\":{\"href\":\"alpha\"}}}]}}"),
+				is(equalTo("{\"_embedded\":{\"items\":["
+						+ "{\"_links\":{\"self\":{\"href\":\"...\"}}}]}}")));
+	}
+
+	@Test
+	public void hrefOutsideOfLinksIsNotMasked() throws Exception {
+		String content = "{\"href\":\"alpha\",\"a\":{\"href\":\"bravo\"}}";
+		assertThat(this.postProcessor.modifyContent(content), is(equalTo(content)));
+	}
+
+	@Test
+	public void hrefWithEscapedQuotesIsMasked() throws Exception {
+		assertThat(this.postProcessor.modifyContent("{\"links\":[{\"rel\":\"a\","
+				+ "\"href\":\"al\\\"pha\"}],\"b\":\"\\\"href\\\": \\\"bravo\\\"\"}"),
+				is(equalTo("{\"links\":[{\"rel\":\"a\",\"href\":\"...\"}],"
+						+ "\"b\":\"\\\"href\\\": \\\"bravo\\\"\"}")));
+	}
+
+	@Test
+	public void linksInTruncatedContentAreMasked() throws Exception {
+		assertThat(this.postProcessor.modifyContent("{\"_links\":{\"a\":{\"href\":"
+				+ "\"alpha\"},\"b\":{\"hr"), is(equalTo("{\"_links\":{\"a\":"
+				+ "{\"href\":\"...\"},\"b\":{\"hr")));
+	}
+
+	@Test
+	public void nonJsonContentIsNotModified() throws Exception {
+		String content = "<a href=\"alpha\">\"href\": \"bravo\"</a>";
+		assertThat(this.postProcessor.modifyContent(content), is(equalTo(content)));
+	}
+
 	private String atomPayloadWithLinks(Link... links) throws JsonProcessingException {
 		return new ObjectMapper().writeValueAsString(createAtomPayload(links));
 	}
@@ -19,7 +19,12 @@ package org.springframework.restdocs.response;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 /**
  * Tests for {@link PrettyPrintingResponsePostProcessor}
@@ -29,12 +34,46 @@ import org.junit.Test;
  */
 public class PrettyPrintingResponsePostProcessorTests {
 
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
 	@Test
 	public void prettyPrintJson() throws Exception {
 		assertThat(new PrettyPrintingResponsePostProcessor().modifyContent("{\"a\":5}"),
 				equalTo(String.format("{%n  \"a\" : 5%n}")));
 	}
 
+	@Test
+	public void prettyPrintJsonIsConsistentWithObjectMapper() throws Exception {
+		String content = "{\"a\":{\"b\":[1,2.5,{\"c\":null}],\"d\":{},\"e\":[]},"
+				+ "\"f\":\"\\\"g\\\"\",\"h\":true}";
+		ObjectMapper objectMapper = new ObjectMapper().configure(
+				SerializationFeature.INDENT_OUTPUT, true);
+		assertThat(new PrettyPrintingResponsePostProcessor().modifyContent(content),
+				equalTo(objectMapper.writeValueAsString(objectMapper.readTree(content))));
+	}
+
+	@Test
+	public void prettyPrintJsonWithCustomIndent() throws Exception {
+		assertThat(new PrettyPrintingResponsePostProcessor("    ")
+				.modifyContent("{\"a\":{\"b\":[1,2]}}"), equalTo(String
+				.format("{%n    \"a\" : {%n        \"b\" : [ 1, 2 ]%n    }%n}")));
+	}
+
+	@Test
+	public void indentMustOnlyContainSpacesAndTabs() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("indent must only contain spaces and tabs");
+		new PrettyPrintingResponsePostProcessor("--").modifyContent("{\"a\":5}");
+	}
+
+	@Test
+	public void jsonFollowedByOtherContentIsHandledGracefully() throws Exception {
+		String content = "{\"a\":5} abcdefg";
+		assertThat(new PrettyPrintingResponsePostProcessor().modifyContent(content),
+				equalTo(content));
+	}
+
 	@Test
 	public void prettyPrintXml() throws Exception {
 		assertThat(
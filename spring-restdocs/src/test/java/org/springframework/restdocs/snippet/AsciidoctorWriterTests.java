@@ -83,4 +83,70 @@ public class AsciidoctorWriterTests {
 		assertEquals(expectedOutput, this.output.toString());
 		System.out.println(this.output.toString());
 	}
+
+	@Test
+	public void tableWithColumnSpecs() throws Exception {
+		this.documentationWriter.table(new TableAction() {
+
+			@Override
+			public void perform(TableWriter tableWriter) throws IOException {
+				tableWriter.headers("One", "Two");
+				tableWriter.row("alpha", "bravo");
+				tableWriter.columns("1", "3");
+			}
+
+		});
+		String expectedOutput = String
+				.format("%n[cols=\"1,3\"]%n|===%n|One|Two%n%n|alpha%n|bravo%n%n|===%n%n");
+		assertEquals(expectedOutput, this.output.toString());
+	}
+
+	@Test
+	public void nullTableEntriesAreWrittenAsNull() throws Exception {
+		this.documentationWriter.table(new TableAction() {
+
+			@Override
+			public void perform(TableWriter tableWriter) throws IOException {
+				tableWriter.headers("One", null);
+				tableWriter.row(null, "bravo");
+			}
+
+		});
+		String expectedOutput = String
+				.format("%n|===%n|One|null%n%n|null%n|bravo%n%n|===%n%n");
+		assertEquals(expectedOutput, this.output.toString());
+	}
+
+	@Test
+	public void tableLargerThanAChunk() throws Exception {
+		final String entry = new String(new char[3000]).replace('\0', 'a');
+		this.documentationWriter.table(new TableAction() {
+
+			@Override
+			public void perform(TableWriter tableWriter) throws IOException {
+				tableWriter.headers("One");
+				tableWriter.row(entry);
+			}
+
+		});
+		String expectedOutput = String.format("%n|===%n|One%n%n|%s%n%n|===%n%n", entry);
+		assertEquals(expectedOutput, this.output.toString());
+	}
+
+	@Test
+	public void pipesInTableEntriesAreEscaped() throws Exception {
+		this.documentationWriter.table(new TableAction() {
+
+			@Override
+			public void perform(TableWriter tableWriter) throws IOException {
+				tableWriter.headers("A|B");
+				tableWriter.row("one | two|three");
+			}
+
+		});
+		String expectedOutput = String
+				.format("%n|===%n|A\\|B%n%n|one \\| two\\|three%n%n|===%n%n");
+		assertEquals(expectedOutput, this.output.toString());
+	}
+
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.snippet;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.springframework.restdocs.test.StubMvcResult.result;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Tests for {@link DocumentationCoverage}
+ * 
+ * @author Andy Wilkinson
+ */
+public class DocumentationCoverageTests {
+
+	private final DocumentationCoverage coverage = new DocumentationCoverage();
+
+	@Test
+	public void emptyIndex() throws IOException {
+		assertThat(writeIndex().get("operations"),
+				is(equalTo((Object) new ArrayList<Object>())));
+	}
+
+	@Test
+	public void operationsAreIdentifiedByTheirMethodAndPattern() throws IOException {
+		this.coverage.addSnippet(operation("GET", "/notes/1", "/notes/{id}"), "curl-request");
+		this.coverage.addSnippet(operation("GET", "/notes/2", "/notes/{id}"), "http-request");
+		this.coverage.addSnippet(operation("POST", "/notes", null), "http-request");
+		List<Map<String, Object>> operations = operations();
+		assertThat(operations.size(), is(equalTo(2)));
+		assertThat(operations.get(0).get("method"), is(equalTo((Object) "GET")));
+		assertThat(operations.get(0).get("path"), is(equalTo((Object) "/notes/{id}")));
+		assertThat(operations.get(0).get("snippets"),
+				is(equalTo((Object) Arrays.asList("curl-request", "http-request"))));
+		assertThat(operations.get(1).get("method"), is(equalTo((Object) "POST")));
+		assertThat(operations.get(1).get("path"), is(equalTo((Object) "/notes")));
+	}
+
+	@Test
+	public void documentedItemsAreRecorded() throws IOException {
+		MvcResult result = operation("GET", "/", null);
+		this.coverage.addRequestFields(result, Arrays.asList("b", "a"));
+		this.coverage.addResponseFields(result, Arrays.asList("c"));
+		this.coverage.addLinks(result, Arrays.asList("self"));
+		this.coverage.addQueryParameters(result, Arrays.asList("page"));
+		Map<String, Object> operation = operations().get(0);
+		assertThat(operation.get("requestFields"),
+				is(equalTo((Object) Arrays.asList("a", "b"))));
+		assertThat(operation.get("responseFields"),
+				is(equalTo((Object) Arrays.asList("c"))));
+		assertThat(operation.get("links"), is(equalTo((Object) Arrays.asList("self"))));
+		assertThat(operation.get("queryParameters"),
+				is(equalTo((Object) Arrays.asList("page"))));
+	}
+
+	@Test
+	public void concurrentRecording() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int i = 0; i < 100; i++) {
+				final String field = "field" + (i % 10);
+				futures.add(executor.submit(new Callable<Void>() {
+
+					@Override
+					public Void call() {
+						DocumentationCoverageTests.this.coverage.addResponseFields(
+								operation("GET", "/", null), Arrays.asList(field));
+						return null;
+					}
+
+				}));
+			}
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		List<Map<String, Object>> operations = operations();
+		assertThat(operations.size(), is(equalTo(1)));
+		assertThat(((List<?>) operations.get(0).get("responseFields")).size(),
+				is(equalTo(10)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Map<String, Object>> operations() throws IOException {
+		return (List<Map<String, Object>>) writeIndex().get("operations");
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> writeIndex() throws IOException {
+		StringWriter writer = new StringWriter();
+		this.coverage.writeIndex(writer);
+		return new ObjectMapper().readValue(writer.toString(), Map.class);
+	}
+
+	private static MvcResult operation(String method, String uri, String pattern) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+		if (pattern != null) {
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+		}
+		return result(request);
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.snippet;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Test;
+import org.springframework.restdocs.snippet.DocumentationWriter.DocumentationAction;
+import org.springframework.restdocs.snippet.DocumentationWriter.TableAction;
+import org.springframework.restdocs.snippet.DocumentationWriter.TableWriter;
+
+/**
+ * Tests for {@link SnippetModelWriter}
+ * 
+ * @author Andy Wilkinson
+ */
+public class SnippetModelWriterTests {
+
+	@Test
+	public void renderedModelMatchesDirectAsciidoctorOutput() throws IOException {
+		StringWriter direct = new StringWriter();
+		writeSnippet(new AsciidoctorWriter(direct));
+		assertEquals(direct.toString(), render(SnippetFormats.asciidoctor()));
+	}
+
+	@Test
+	public void renderedModelMatchesDirectMarkdownOutput() throws IOException {
+		StringWriter direct = new StringWriter();
+		writeSnippet(new MarkdownWriter(direct));
+		assertEquals(direct.toString(), render(SnippetFormats.markdown()));
+	}
+
+	@Test
+	public void modelCanBeRenderedMoreThanOnce() throws IOException {
+		SnippetModelWriter modelWriter = new SnippetModelWriter();
+		writeSnippet(modelWriter);
+		SnippetModel model = modelWriter.getModel();
+		StringWriter first = new StringWriter();
+		model.renderTo(new AsciidoctorWriter(first));
+		StringWriter second = new StringWriter();
+		model.renderTo(new AsciidoctorWriter(second));
+		assertEquals(first.toString(), second.toString());
+	}
+
+	private String render(SnippetFormat format) throws IOException {
+		SnippetModelWriter modelWriter = new SnippetModelWriter();
+		writeSnippet(modelWriter);
+		StringWriter output = new StringWriter();
+		modelWriter.getModel().renderTo(format.createWriter(output));
+		return output.toString();
+	}
+
+	private void writeSnippet(final DocumentationWriter writer) throws IOException {
+		writer.println("Preamble");
+		writer.shellCommand(new DocumentationAction() {
+
+			@Override
+			public void perform() throws IOException {
+				writer.println("curl 'http://localhost:8080/' -i");
+			}
+
+		});
+		writer.codeBlock("http", new DocumentationAction() {
+
+			@Override
+			public void perform() throws IOException {
+				writer.println("GET / HTTP/1.1");
+				writer.println();
+			}
+
+		});
+		writer.table(new TableAction() {
+
+			@Override
+			public void perform(TableWriter tableWriter) throws IOException {
+				tableWriter.headers("Path", "Description");
+				tableWriter.row("a", "The a");
+				tableWriter.row("b", "The b");
+			}
+
+		});
+		writer.flush();
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.snippet;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link SnippetVerification}
+ * 
+ * @author Andy Wilkinson
+ */
+public class SnippetVerificationTests {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private final SnippetVerification verification = new SnippetVerification();
+
+	@Test
+	public void identicalSnippetIsNotReported() throws IOException {
+		File snippet = createSnippet("same", "alpha");
+		write(snippet, "alpha");
+		assertThat(report(), is(equalTo("")));
+	}
+
+	@Test
+	public void changedAndMissingSnippetsAreReported() throws IOException {
+		File changedLength = createSnippet("changed-length", "alpha");
+		File changedContent = createSnippet("changed-content", "alpha");
+		File missing = new File(this.temp.getRoot(), "missing");
+		write(changedLength, "alphabet");
+		write(changedContent, "alpaca");
+		write(missing, "alpha");
+		write(createSnippet("same", "alpha"), "alpha");
+		assertThat(report(), is(equalTo(String.format(
+				"3 of 4 verified snippets differ from those on disk:%n"
+						+ "  Changed: %s%n  Changed: %s%n  Missing: %s%n",
+				changedContent, changedLength, missing))));
+	}
+
+	@Test
+	public void assertingWithoutDifferencesSucceeds() throws IOException {
+		write(createSnippet("same", "alpha"), "alpha");
+		this.verification.assertUnchanged();
+	}
+
+	@Test
+	public void assertingWithDifferencesFails() throws IOException {
+		File missing = new File(this.temp.getRoot(), "missing");
+		write(missing, "alpha");
+		try {
+			this.verification.assertUnchanged();
+			fail();
+		}
+		catch (AssertionError ex) {
+			assertThat(ex.getMessage(), is(equalTo(String.format(
+					"1 of 1 verified snippets differ from those on disk:%n"
+							+ "  Missing: %s%n", missing))));
+		}
+	}
+
+	@Test
+	public void verificationDoesNotModifyTheSnippet() throws IOException {
+		File snippet = createSnippet("snippet", "alpha");
+		write(snippet, "bravo");
+		assertThat(new String(Files.readAllBytes(snippet.toPath()), UTF_8),
+				is(equalTo("alpha")));
+	}
+
+	@Test
+	public void verificationDoesNotCreateAMissingSnippet() throws IOException {
+		File snippet = new File(this.temp.getRoot(), "missing");
+		write(snippet, "bravo");
+		assertThat(snippet.exists(), is(false));
+	}
+
+	private File createSnippet(String name, String content) throws IOException {
+		File snippet = this.temp.newFile(name);
+		Files.write(snippet.toPath(), content.getBytes(UTF_8));
+		return snippet;
+	}
+
+	private void write(File snippet, String content) throws IOException {
+		try (Writer writer = this.verification.createWriter(snippet, UTF_8)) {
+			writer.write(content);
+		}
+	}
+
+	private String report() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		this.verification.report(new PrintStream(output, true, "UTF-8"));
+		return new String(output.toByteArray(), UTF_8);
+	}
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.statistics;
+
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.springframework.restdocs.response.ResponsePostProcessors.limitContent;
+import static org.springframework.restdocs.statistics.StatisticsDocumentation.documentStatistics;
+import static org.springframework.restdocs.test.SnippetMatchers.tableWithHeader;
+import static org.springframework.restdocs.test.StubMvcResult.result;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+
+import org.hamcrest.Matcher;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.restdocs.test.ExpectedSnippet;
+import org.springframework.restdocs.util.RequestCopier;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Tests for {@link StatisticsDocumentation}
+ * 
+ * @author Andy Wilkinson
+ */
+public class StatisticsDocumentationTests {
+
+	@Rule
+	public ExpectedSnippet snippet = new ExpectedSnippet();
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final ReplayedController controller = new ReplayedController();
+
+	private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(this.controller)
+			.build();
+
+	@Test
+	public void responseSize() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.getWriter().append("content");
+		this.snippet.expectStatistics("response-size").withContents(
+				tableWithHeader("Statistic", "Value").row("Response size", "7 bytes"));
+		documentStatistics("response-size").handle(result(response));
+	}
+
+	@Test
+	public void postProcessedResponseSize() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.getWriter().append("content");
+		this.snippet.expectStatistics("post-processed-response-size").withContents(
+				tableWithHeader("Statistic", "Value").row("Response size", "4 bytes"));
+		documentStatistics("post-processed-response-size").handle(
+				result(limitContent(4).postProcess(response)));
+	}
+
+	@Test
+	public void replayedRequest() throws Exception {
+		this.snippet.expectStatistics("replayed-request").withContents(
+				allOf(Arrays.<Matcher<? super String>> asList(
+						containsString("|Requests"), containsString("|5"),
+						containsString("|Latency (p50)"),
+						containsString("|Latency (p90)"),
+						containsString("|Latency (p99)"),
+						containsString("|Latency (max)"), containsString(" ms"),
+						containsString("|Response size"), containsString("|3 bytes"))));
+		MvcResult result = this.mockMvc.perform(get("/")).andReturn();
+		documentStatistics("replayed-request", this.mockMvc, 5).handle(result);
+	}
+
+	@Test
+	public void replayedRequestsAreMarkedAsReplays() throws Exception {
+		MvcResult result = this.mockMvc.perform(get("/")).andReturn();
+		documentStatistics("replays-are-marked", this.mockMvc, 3).handle(result);
+		assertThat(this.controller.replays,
+				equalTo(Arrays.asList(false, true, true, true)));
+	}
+
+	@Test
+	public void originalRequestIsReplayed() throws Exception {
+		MvcResult result = this.mockMvc.perform(get("/").header("Authorization", "secret"))
+				.andReturn();
+		MockHttpServletRequest modified = RequestCopier.copyExcludingHeaders(
+				result.getRequest(), "Authorization");
+		documentStatistics("original-request-replayed", this.mockMvc, 2).handle(
+				result(modified));
+		assertThat(this.controller.authorizations,
+				equalTo(Arrays.asList("secret", "secret", "secret")));
+	}
+
+	@Test
+	public void principalCookiesAndSessionAreReplayed() throws Exception {
+		MockHttpSession session = new MockHttpSession(null, "session-id");
+		MvcResult result = this.mockMvc.perform(
+				get("/").principal(new TestingPrincipal("alice"))
+						.cookie(new Cookie("a", "alpha")).session(session)).andReturn();
+		documentStatistics("identity-replayed", this.mockMvc, 2).handle(result);
+		assertThat(this.controller.identities, equalTo(Arrays.asList(
+				"alice alpha session-id", "alice alpha session-id",
+				"alice alpha session-id")));
+	}
+
+	@Test
+	public void replayWithADifferentStatusFails() throws Exception {
+		MvcResult result = this.mockMvc.perform(get("/forbidden-replay")).andReturn();
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("Replay of request to '/forbidden-replay' responded"
+				+ " with status 403 rather than 200");
+		documentStatistics("different-status", this.mockMvc, 2).handle(result);
+	}
+
+	@Test
+	public void replaysMustBeGreaterThanZero() {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("replays must be greater than zero");
+		documentStatistics("no-replays", this.mockMvc, 0);
+	}
+
+	private static final class TestingPrincipal implements Principal {
+
+		private final String name;
+
+		private TestingPrincipal(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+	}
+
+	@RestController
+	static class ReplayedController {
+
+		private final List<Boolean> replays = new ArrayList<Boolean>();
+
+		private final List<String> authorizations = new ArrayList<String>();
+
+		private final List<String> identities = new ArrayList<String>();
+
+		@RequestMapping("/")
+		public String replayed(HttpServletRequest request) {
+			this.replays.add(StatisticsDocumentation.isReplay(request));
+			this.authorizations.add(request.getHeader("Authorization"));
+			if (request.getUserPrincipal() != null) {
+				this.identities.add(request.getUserPrincipal().getName() + " "
+						+ request.getCookies()[0].getValue() + " "
+						+ request.getSession(false).getId());
+			}
+			return "foo";
+		}
+
+		@RequestMapping("/forbidden-replay")
+		public ResponseEntity<String> forbiddenReplay(HttpServletRequest request) {
+			return new ResponseEntity<String>("foo",
+					StatisticsDocumentation.isReplay(request) ? HttpStatus.FORBIDDEN
+							: HttpStatus.OK);
+		}
+
+	}
+
+}
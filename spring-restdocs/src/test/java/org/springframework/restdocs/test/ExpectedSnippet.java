@@ -115,6 +115,16 @@ public class ExpectedSnippet implements TestRule {
 		return this;
 	}
 
+	public ExpectedSnippet expectRequestMetrics(String name) {
+		expect(name, "request-metrics");
+		return this;
+	}
+
+	public ExpectedSnippet expectResponseMetrics(String name) {
+		expect(name, "response-metrics");
+		return this;
+	}
+
 	public ExpectedSnippet expectLinks(String name) {
 		expect(name, "links");
 		return this;
@@ -135,6 +145,11 @@ public class ExpectedSnippet implements TestRule {
 		return this;
 	}
 
+	public ExpectedSnippet expectStatistics(String name) {
+		expect(name, "statistics");
+		return this;
+	}
+
 	private ExpectedSnippet expect(String name, String type) {
 		this.expectedName = name;
 		this.expectedType = type;
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.restdocs.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link HeaderFilter}
+ * 
+ * @author Andy Wilkinson
+ */
+public class HeaderFilterTests {
+
+	@Test
+	public void namesAreMatchedCaseInsensitively() {
+		HeaderFilter filter = HeaderFilter.excluding("X-Request-Id");
+		assertThat(filter.isExcluded("x-request-id"), is(true));
+		assertThat(filter.isExcluded("X-REQUEST-ID"), is(true));
+		assertThat(filter.isExcluded("X-Request"), is(false));
+	}
+
+	@Test
+	public void wildcards() {
+		HeaderFilter filter = HeaderFilter.excluding("X-B3-*", "*-Trace");
+		assertThat(filter.isExcluded("x-b3-traceid"), is(true));
+		assertThat(filter.isExcluded("X-B3-"), is(true));
+		assertThat(filter.isExcluded("Cloud-Trace"), is(true));
+		assertThat(filter.isExcluded("X-B4-TraceId"), is(false));
+	}
+
+	@Test
+	public void wildcardNamesAreNotRegularExpressions() {
+		HeaderFilter filter = HeaderFilter.excluding("X.*");
+		assertThat(filter.isExcluded("X.Foo"), is(true));
+		assertThat(filter.isExcluded("XFoo"), is(false));
+	}
+
+	@Test
+	public void patternsAreMatchedCaseInsensitively() {
+		HeaderFilter filter = HeaderFilter.excludingMatches(Pattern
+				.compile("X-(B3|Request)-.+"));
+		assertThat(filter.isExcluded("x-b3-spanid"), is(true));
+		assertThat(filter.isExcluded("X-Request-Id"), is(true));
+		assertThat(filter.isExcluded("X-Forwarded-For"), is(false));
+	}
+
+	@Test
+	public void outcomeIsRemembered() {
+		HeaderFilter filter = HeaderFilter.excluding("a");
+		assertThat(filter.isExcluded("A"), is(true));
+		assertThat(filter.isExcluded("A"), is(true));
+		assertThat(filter.isExcluded("b"), is(false));
+		assertThat(filter.isExcluded("b"), is(false));
+	}
+
+}